@@ -0,0 +1,62 @@
+package com.kitchen.rpc.client;
+
+import com.kitchen.rpc.client.handler.ClientBatchInvoker;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RPC批量调用
+ * 通过create()创建的服务实例只记录调用（返回默认值），execute()时将记录的调用按服务提供者分组，每组在一个帧中发送，
+ * 服务端并行处理后以一个帧返回；每个调用的结果（或异常）通过对应的CompletableFuture单独获取
+ *
+ * 用法：
+ * RpcBatch batch = RpcClientProxy.createBatch();
+ * DemoService demoService = batch.create(DemoService.class);
+ * for (int i = 0; i < 100; i++) {
+ *     demoService.hello(i);
+ * }
+ * List<CompletableFuture<Object>> results = batch.execute();
+ *
+ * 非线程安全，一个批次只应在一个线程中使用
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcBatch {
+    private final ClientBatchInvoker invoker = new ClientBatchInvoker();
+
+    /**
+     * 创建指定服务接口的记录调用的服务实例
+     */
+    public <T> T create(final Class<?> interfaceClass) {
+        return create(interfaceClass, "");
+    }
+
+    /**
+     * 创建指定服务接口和版本的记录调用的服务实例
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T create(final Class<?> interfaceClass, final String serviceVersion) {
+        return (T) Proxy.newProxyInstance(
+                interfaceClass.getClassLoader(),
+                new Class<?>[]{interfaceClass},
+                invoker.createRecorder(serviceVersion)
+        );
+    }
+
+    /**
+     * 已记录的调用数
+     */
+    public int size() {
+        return invoker.size();
+    }
+
+    /**
+     * 发送已记录的调用，返回与调用顺序一一对应的结果（发送后批次清空，可继续记录下一批）
+     */
+    public List<CompletableFuture<Object>> execute() {
+        return invoker.execute();
+    }
+}
@@ -3,7 +3,12 @@ package com.kitchen.rpc.client;
 
 import com.kitchen.rpc.client.cache.ClientChannelCache;
 import com.kitchen.rpc.client.config.RpcClientConfig;
+import com.kitchen.rpc.client.policy.FailoverPolicy;
+import com.kitchen.rpc.client.policy.HedgePolicy;
 import com.kitchen.rpc.client.thread.CallbackThreadPool;
+import com.kitchen.rpc.client.thread.RequestTimeoutTimer;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
 import com.kitchen.rpc.registry.policy.PolicyConfig;
 import com.kitchen.rpc.registry.store.RpcServiceDiscovery;
 import com.kitchen.rpc.registry.store.zookeeper.discovery.ZooKeeperServiceDiscovery;
@@ -36,9 +41,22 @@ class RpcClient implements InitializingBean, DisposableBean {
         if (config.rpcOpen) {
             // TODO 是否可以通过Spring注入至PolicyConfig，或在PolicyConfig中使用@Value注解
             PolicyConfig.SERVICE_LB_POLICY = config.SERVICE_LB_POLICY;
+            PolicyConfig.HASH_KEY_TYPE = config.hashKeyType;
+            PolicyConfig.HASH_LOAD_FACTOR = config.hashLoadFactor;
             // TODO 注册和发现通过“配置+抽象工厂”实现，支持多种注册中心
             RpcServiceDiscovery rpcServiceDiscovery = new ZooKeeperServiceDiscovery(config.registryCenterAddress, config.rpcName);
             ClientChannelCache.setRpcServiceDiscovery(rpcServiceDiscovery);
+            ClientChannelCache.setFrameFormat(config.frameFormat);
+            ClientChannelCache.setChannelMode(config.channelMode, config.multiplexConnections);
+            RequestTimeoutTimer.setDefaultTimeout(config.requestTimeout);
+            HedgePolicy.setBudgetPercent(config.hedgeBudgetPercent);
+            FailoverPolicy.setBudgetPercent(config.retryBudgetPercent);
+            RpcSerializer serializer = SerializerCache.get(config.serializer);
+            if (serializer != null) {
+                ClientChannelCache.setSerializer(serializer);
+            } else {
+                logger.error("<RpcClient>: 未找到序列化器[" + config.serializer + "]，使用默认序列化器");
+            }
         } else {
             logger.info("<RpcClient>: 未启用RPC服务,如需启用RPC服务,请在application.yml中设置相关配置");
         }
@@ -57,6 +75,7 @@ class RpcClient implements InitializingBean, DisposableBean {
             }
         }
         CallbackThreadPool.stop();
+        RequestTimeoutTimer.stop();
 
         try {
             GlobalEventExecutor.INSTANCE.awaitInactivity(5L, TimeUnit.SECONDS);
@@ -2,6 +2,10 @@ package com.kitchen.rpc.client;
 
 import com.kitchen.rpc.client.handler.ClientProxyInvocationHandler;
 import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.codec.protostuff.ProtocolSchemaWarmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
@@ -12,6 +16,7 @@ import java.lang.reflect.Proxy;
  * @author 赵梓彧 - kitchen_dev@163.com
  */
 public class RpcClientProxy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RpcClientProxy.class);
 
     /**
      * 创建指定服务接口的远程服务实例
@@ -81,8 +86,24 @@ public class RpcClientProxy {
         return createObject(interfaceClass, proxyHandler);
     }
 
+    /**
+     * 创建批量调用（多个调用合并为一个请求帧发送）
+     * @return
+     */
+    public static RpcBatch createBatch() {
+        return new RpcBatch();
+    }
+
     @SuppressWarnings("unchecked")
     private static  <T> T createObject(final Class<?> interfaceClass, InvocationHandler proxyHandler) {
+        // 预先生成请求参数及返回值的序列化结构（每个服务接口只预热一次）
+        long warmupStart = System.currentTimeMillis();
+        int schemaCount = ProtocolSchemaWarmup.warmUp(interfaceClass);
+        if (schemaCount > 0) {
+            LOGGER.info("<RpcClient>: 完成[" + interfaceClass.getName() + "]序列化结构预热，共生成" + schemaCount
+                    + "个序列化结构，耗时" + (System.currentTimeMillis() - warmupStart) + "ms");
+        }
+
         ClassLoader classLoader = interfaceClass.getClassLoader();
         Class<?>[] interfaceList = new Class<?>[]{
                 interfaceClass
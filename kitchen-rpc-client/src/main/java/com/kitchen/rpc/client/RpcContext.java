@@ -0,0 +1,31 @@
+package com.kitchen.rpc.client;
+
+/**
+ * RPC调用上下文（线程内有效）
+ * 用于为当前线程的下一次RPC调用指定参数，调用发出后即清除
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcContext {
+    private static final ThreadLocal<Long> TIMEOUT = new ThreadLocal<>();
+
+    /**
+     * 指定当前线程下一次RPC调用的超时时间（毫秒），优先于@RpcTimeout及默认超时时间，不大于0时不限制
+     */
+    public static void setTimeout(long timeoutMillis) {
+        TIMEOUT.set(timeoutMillis);
+    }
+
+    /**
+     * 取出（并清除）当前线程指定的超时时间，未指定时返回defaultTimeout
+     */
+    public static long takeTimeout(long defaultTimeout) {
+        Long timeout = TIMEOUT.get();
+        if (timeout == null) {
+            return defaultTimeout;
+        }
+        TIMEOUT.remove();
+        return timeout;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kitchen.rpc.client.cache;
+
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.util.Arrays;
+
+/**
+ * 调用参数的键（参数按默认序列化器序列化后的字节，按内容比较）
+ * 用于结果缓存及相同调用的合并，参数内容相同即视为相同的调用
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public final class ArgumentsKey {
+    private static final ArgumentsKey EMPTY = new ArgumentsKey(new byte[0]);
+
+    private final byte[] bytes;
+    private final int hash;
+
+    private ArgumentsKey(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    public static ArgumentsKey of(Object[] args) {
+        if (args == null || args.length == 0) {
+            return EMPTY;
+        }
+        RpcRequest holder = new RpcRequest();
+        holder.setArguments(args);
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.heapBuffer();
+        try {
+            SerializerCache.getDefault().serialize(holder, buffer);
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            return new ArgumentsKey(bytes);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ArgumentsKey && Arrays.equals(bytes, ((ArgumentsKey) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kitchen.rpc.client.cache;
+
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 连接通道上协商得到的方法编号表（方法键 -> 方法编号）
+ * 握手完成后保存在通道属性中；握手完成前请求仍使用完整的服务名与方法签名
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ChannelMethodTable {
+    private static final AttributeKey<ChannelMethodTable> KEY = AttributeKey.valueOf("kitchen.rpc.methodTable");
+
+    private final Map<String, Integer> methodIdMap;
+
+    private ChannelMethodTable(RpcMethodTable methodTable) {
+        List<String> methodKeys = methodTable.getMethodKeys();
+        methodIdMap = new HashMap<>(methodKeys == null ? 16 : methodKeys.size() * 2);
+        if (methodKeys != null) {
+            for (int i = 0; i < methodKeys.size(); i++) {
+                methodIdMap.put(methodKeys.get(i), i + 1);
+            }
+        }
+    }
+
+    /**
+     * 保存服务端发送的方法编号表
+     */
+    public static void set(Channel channel, RpcMethodTable methodTable) {
+        channel.attr(KEY).set(new ChannelMethodTable(methodTable));
+    }
+
+    /**
+     * 获取通道上的方法编号
+     * 若尚未完成握手或服务端未提供该方法，则返回0
+     */
+    public static int getMethodId(Channel channel, String methodKey) {
+        ChannelMethodTable methodTable = channel.attr(KEY).get();
+        if (methodTable == null) {
+            return 0;
+        }
+        Integer methodId = methodTable.methodIdMap.get(methodKey);
+        return methodId == null ? 0 : methodId;
+    }
+}
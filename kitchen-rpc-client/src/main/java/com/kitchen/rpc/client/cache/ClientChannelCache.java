@@ -1,7 +1,11 @@
 package com.kitchen.rpc.client.cache;
 
+import com.kitchen.rpc.client.config.ChannelMode;
 import com.kitchen.rpc.client.config.RpcClientConfig;
 import com.kitchen.rpc.client.handler.ProtocolChannelPoolHandler;
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.common.util.RpcStringUtil;
 import com.kitchen.rpc.registry.store.RpcServiceDiscovery;
@@ -13,6 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
@@ -32,6 +37,10 @@ public class ClientChannelCache {
      * RPC连接通道池缓存
      */
     private Map<String, FixedChannelPool> channelPoolMap;
+    /**
+     * RPC多路复用连接组缓存（多路复用模式）
+     */
+    private Map<String, MultiplexChannelGroup> channelGroupMap;
 
     /**
      * RPC服务搜索器
@@ -46,10 +55,44 @@ public class ClientChannelCache {
         return rpcServiceDiscovery;
     }
 
+    /**
+     * 通信帧格式
+     */
+    private static FrameFormat frameFormat = FrameFormat.FIXED_HEADER;
+
+    public static void setFrameFormat(FrameFormat format) {
+        frameFormat = format;
+    }
+
+    public static FrameFormat getFrameFormat() {
+        return frameFormat;
+    }
+
+    /**
+     * 优先使用的序列化器（握手时与服务提供者协商，仅FIXED_HEADER帧格式支持）
+     */
+    private static RpcSerializer serializer = SerializerCache.getDefault();
+
+    public static void setSerializer(RpcSerializer rpcSerializer) {
+        serializer = rpcSerializer;
+    }
+
+    /**
+     * 连接通道的使用方式，以及多路复用模式下每个服务提供者的连接数
+     */
+    private static ChannelMode channelMode = ChannelMode.POOLED;
+    private static int multiplexConnections = 2;
+
+    public static void setChannelMode(ChannelMode mode, int connections) {
+        channelMode = mode;
+        multiplexConnections = connections;
+    }
+
     private volatile static ClientChannelCache channelCache;
 
     private ClientChannelCache() {
         channelPoolMap = new ConcurrentHashMap<>();
+        channelGroupMap = new ConcurrentHashMap<>();
     }
 
     public static ClientChannelCache getInstance() {
@@ -68,14 +111,31 @@ public class ClientChannelCache {
         return RUNING;
     }
 
-    public Channel getChannel(String interfaceName, String serviceVersion, RpcRequest rpcRequest) throws ExecutionException, InterruptedException {
+    /**
+     * 获取连接通道
+     *
+     * @param serviceName 服务名（接口名-版本号）
+     * @param rpcRequest RPC请求对象
+     */
+    public Channel getChannel(String serviceName, RpcRequest rpcRequest) throws ExecutionException, InterruptedException {
         if (!RUNING) {
             return null;
         }
-        String serviceAddress = getServiceAddress(interfaceName, serviceVersion, rpcRequest);
-        if (RpcStringUtil.isEmpty(serviceAddress)) {
+        return getChannel(getServiceAddress(serviceName, rpcRequest));
+    }
+
+    /**
+     * 获取指定服务地址的连接通道
+     *
+     * @param serviceAddress 服务地址（IP:端口）
+     */
+    public Channel getChannel(String serviceAddress) throws ExecutionException, InterruptedException {
+        if (!RUNING || RpcStringUtil.isEmpty(serviceAddress)) {
             return null;
         }
+        if (channelMode == ChannelMode.MULTIPLEX) {
+            return getChannelGroup(serviceAddress).acquire();
+        }
         FixedChannelPool channelPool;
         if (!channelPoolMap.containsKey(serviceAddress)) {
             // 若其它线程正在创建相同的连接，则让其它线程等待
@@ -84,7 +144,7 @@ public class ClientChannelCache {
                     channelPool = channelPoolMap.get(serviceAddress);
                 } else {
                     Bootstrap bootstrap = ClientBootstrapFactory.createNewBootstrap(serviceAddress);
-                    ProtocolChannelPoolHandler handler = new ProtocolChannelPoolHandler();
+                    ProtocolChannelPoolHandler handler = new ProtocolChannelPoolHandler(frameFormat, serializer);
                     channelPool = new FixedChannelPool(bootstrap, handler, RpcClientConfig.CHANNEL_POOL_MAX_CONNECTIONS);
                     channelPoolMap.putIfAbsent(serviceAddress, channelPool);
                 }
@@ -96,8 +156,21 @@ public class ClientChannelCache {
         return channelPool.acquire().get();
     }
 
+    private MultiplexChannelGroup getChannelGroup(String serviceAddress) {
+        MultiplexChannelGroup channelGroup = channelGroupMap.get(serviceAddress);
+        if (channelGroup == null) {
+            channelGroup = channelGroupMap.computeIfAbsent(serviceAddress, address -> new MultiplexChannelGroup(
+                    ClientBootstrapFactory.createNewBootstrap(address),
+                    new ProtocolChannelPoolHandler(frameFormat, serializer),
+                    multiplexConnections
+            ));
+        }
+        return channelGroup;
+    }
+
     public void releaseChannel(Channel channel) {
-        if (channel == null) {
+        // 多路复用模式下连接由请求共享，无需归还
+        if (channel == null || channelMode == ChannelMode.MULTIPLEX) {
             return;
         }
         InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
@@ -110,25 +183,33 @@ public class ClientChannelCache {
 
 
     /**
-     * 根据服务名称和服务版本获取服务地址
+     * 根据服务名（接口名-版本号）获取服务地址
      * 保证返回的服务地址不为空（若为空则抛出运行时异常）
      */
-    private String getServiceAddress(String interfaceName, String serviceVersion, RpcRequest rpcRequest) {
+    public String getServiceAddress(String serviceName, RpcRequest rpcRequest) {
         String serviceAddress = "";
         if (rpcServiceDiscovery != null) {
-            if (RpcStringUtil.isNotEmpty(serviceVersion)) {
-                interfaceName += "-" + serviceVersion;
-            }
-            serviceAddress = rpcServiceDiscovery.discoverService(interfaceName, rpcRequest);
+            serviceAddress = rpcServiceDiscovery.discoverService(serviceName, rpcRequest);
         }
 
         if (RpcStringUtil.isEmpty(serviceAddress)) {
-            LOGGER.error("microservice address not found: interface[" + interfaceName + "],version[" + serviceVersion + "]");
+            LOGGER.error("microservice address not found: service[" + serviceName + "]");
         }
 
         return serviceAddress;
     }
 
+    /**
+     * 根据服务名（接口名-版本号）获取服务地址，排除指定的地址
+     * 没有其它可用地址时返回null
+     */
+    public String getServiceAddress(String serviceName, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        if (rpcServiceDiscovery == null) {
+            return null;
+        }
+        return rpcServiceDiscovery.discoverService(serviceName, rpcRequest, excludeAddresses);
+    }
+
     public void stop() {
         RUNING = false;
 
@@ -136,6 +217,10 @@ public class ClientChannelCache {
             channelPoolMap.get(address).close();
             LOGGER.info("关闭[" + address + "]Channel Pool");
         }
+        for (String address : channelGroupMap.keySet()) {
+            channelGroupMap.get(address).close();
+            LOGGER.info("关闭[" + address + "]多路复用连接");
+        }
 
         ClientBootstrapFactory.stopEventLoopGroup();
     }
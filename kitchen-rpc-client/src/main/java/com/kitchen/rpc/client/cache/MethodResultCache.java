@@ -0,0 +1,149 @@
+package com.kitchen.rpc.client.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个服务方法的结果缓存（调用参数 -> 结果）
+ * 条目数超出上限时，从抽样的条目中淘汰最早过期的条目，不维护全局的访问顺序，读操作无锁
+ * 抽样从上次淘汰停止的位置继续（游标在整个表中循环），避免总是从哈希表头部的固定几个条目中选择
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class MethodResultCache {
+    /**
+     * 淘汰时抽样的条目数
+     */
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final long ttl;
+    private final int maxEntries;
+    private final Map<ArgumentsKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * 淘汰游标（同一时间只有一个线程执行淘汰并使用游标）
+     */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private Iterator<Map.Entry<ArgumentsKey, Entry>> cursor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    MethodResultCache(long ttl, int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * 获取缓存的结果，未命中或已过期时返回null
+     */
+    public Object get(ArgumentsKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expireTime > System.currentTimeMillis()) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                size.decrementAndGet();
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 缓存结果（null不缓存）
+     */
+    public void put(ArgumentsKey key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (entries.put(key, new Entry(value, System.currentTimeMillis() + ttl)) == null
+                && size.incrementAndGet() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * 其它线程正在淘汰时直接返回，由该线程将条目数降至上限以内
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            while (size.get() > maxEntries) {
+                ArgumentsKey victimKey = null;
+                Entry victim = null;
+                int sampled = 0;
+                int visited = 0;
+                // 最多遍历一轮表，避免条目被并发移除时空转
+                int limit = size.get() + EVICTION_SAMPLES;
+                while (sampled < EVICTION_SAMPLES && visited++ < limit) {
+                    if (cursor == null || !cursor.hasNext()) {
+                        cursor = entries.entrySet().iterator();
+                        if (!cursor.hasNext()) {
+                            break;
+                        }
+                    }
+                    Map.Entry<ArgumentsKey, Entry> candidate = cursor.next();
+                    Entry entry = candidate.getValue();
+                    if (entry.expireTime <= now) {
+                        // 已过期的条目直接移除
+                        if (entries.remove(candidate.getKey(), entry)) {
+                            size.decrementAndGet();
+                            expirations.increment();
+                        }
+                        continue;
+                    }
+                    if (victim == null || entry.expireTime < victim.expireTime) {
+                        victimKey = candidate.getKey();
+                        victim = entry;
+                    }
+                    sampled++;
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (entries.remove(victimKey, victim)) {
+                    size.decrementAndGet();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    void clear() {
+        for (ArgumentsKey key : entries.keySet()) {
+            if (entries.remove(key) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public ResultCacheStats getStats() {
+        return new ResultCacheStats(size.get(), hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long expireTime;
+
+        Entry(Object value, long expireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+    }
+}
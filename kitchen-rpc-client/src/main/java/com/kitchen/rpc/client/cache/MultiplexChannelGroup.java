@@ -0,0 +1,140 @@
+package com.kitchen.rpc.client.cache;
+
+import com.kitchen.rpc.client.handler.ProtocolChannelPoolHandler;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 多路复用模式下，一个服务提供者的连接组
+ * 保持固定数量的长连接，按轮询方式分配给请求；连接断开时移出连接组，在下次分配到该位置时重新建立
+ * 每个位置保存连接建立的Future，通过CAS保证同一位置只有一个线程发起连接，建立连接期间不持有任何锁
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+class MultiplexChannelGroup {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiplexChannelGroup.class);
+
+    private final Bootstrap bootstrap;
+    private final AtomicReferenceArray<Future<Channel>> channels;
+    private final AtomicInteger index = new AtomicInteger();
+
+    MultiplexChannelGroup(Bootstrap bootstrap, ProtocolChannelPoolHandler handler, int connections) {
+        this.bootstrap = bootstrap.handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel channel) throws Exception {
+                handler.channelCreated(channel);
+            }
+        });
+        this.channels = new AtomicReferenceArray<>(Math.max(1, connections));
+    }
+
+    /**
+     * 分配一个可用的连接
+     * 轮询到的连接不可用时在后台重新建立，本次请求优先使用其它可用的连接；没有任何可用连接时才等待连接建立
+     */
+    Channel acquire() throws ExecutionException, InterruptedException {
+        int size = channels.length();
+        int i = (index.getAndIncrement() & Integer.MAX_VALUE) % size;
+        Channel channel = activeChannel(channels.get(i));
+        if (channel != null) {
+            return channel;
+        }
+        Future<Channel> future = connect(i);
+        for (int n = 1; n < size; n++) {
+            channel = activeChannel(channels.get((i + n) % size));
+            if (channel != null) {
+                return channel;
+            }
+        }
+        return future.get();
+    }
+
+    /**
+     * 获取已建立且可用的连接，连接尚未建立、建立失败或已断开时返回null
+     */
+    private static Channel activeChannel(Future<Channel> future) {
+        if (future != null && future.isSuccess()) {
+            Channel channel = future.getNow();
+            if (channel.isActive()) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 返回指定位置的连接Future：连接可用或正在建立时直接返回，否则发起新的连接
+     */
+    private Future<Channel> connect(int i) {
+        while (true) {
+            Future<Channel> current = channels.get(i);
+            if (current != null && (!current.isDone() || activeChannel(current) != null)) {
+                return current;
+            }
+            Promise<Channel> promise = bootstrap.config().group().next().newPromise();
+            // 只有CAS成功的线程发起连接，其它线程使用该线程的Future
+            if (channels.compareAndSet(i, current, promise)) {
+                doConnect(i, promise);
+                return promise;
+            }
+        }
+    }
+
+    private void doConnect(int i, Promise<Channel> promise) {
+        bootstrap.connect().addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    // 失败的Future留在原位置，下次分配到该位置时重新连接
+                    LOGGER.warn("建立多路复用连接失败：" + future.cause().getMessage());
+                    promise.tryFailure(future.cause());
+                    return;
+                }
+                Channel channel = future.channel();
+                LOGGER.debug("建立多路复用连接：" + channel.id());
+                channel.closeFuture().addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture future) throws Exception {
+                        // 连接断开后移出连接组，不再分配给新的请求
+                        if (channels.compareAndSet(i, promise, null)) {
+                            LOGGER.debug("移除已断开的多路复用连接：" + channel.id());
+                        }
+                    }
+                });
+                if (!promise.trySuccess(channel)) {
+                    channel.close();
+                }
+            }
+        });
+    }
+
+    void close() {
+        for (int i = 0; i < channels.length(); i++) {
+            Future<Channel> future = channels.get(i);
+            if (future != null) {
+                // 正在建立的连接在建立完成后关闭
+                future.addListener(new FutureListener<Channel>() {
+                    @Override
+                    public void operationComplete(Future<Channel> future) throws Exception {
+                        if (future.isSuccess()) {
+                            future.getNow().close();
+                        }
+                    }
+                });
+            }
+        }
+    }
+}
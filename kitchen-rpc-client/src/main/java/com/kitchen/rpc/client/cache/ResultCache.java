@@ -0,0 +1,53 @@
+package com.kitchen.rpc.client.cache;
+
+import com.kitchen.rpc.common.annotation.RpcCacheable;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RPC客户端结果缓存管理（方法键 -> 方法的结果缓存）
+ * 为标注了@RpcCacheable的服务方法创建结果缓存，并汇总各方法的命中统计
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ResultCache {
+    private static Map<String, MethodResultCache> cacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * 获取服务方法的结果缓存，方法未标注@RpcCacheable时返回null
+     * 同一方法（不同的代理实例）共享一个缓存
+     *
+     * @param methodKey 方法键（服务名#方法签名）
+     */
+    public static MethodResultCache of(String methodKey, Method method) {
+        RpcCacheable cacheable = method.getAnnotation(RpcCacheable.class);
+        if (cacheable == null) {
+            return null;
+        }
+        return cacheMap.computeIfAbsent(methodKey, key -> new MethodResultCache(cacheable.ttl(), cacheable.maxEntries()));
+    }
+
+    /**
+     * 获取各方法结果缓存的统计（方法键 -> 统计）
+     */
+    public static Map<String, ResultCacheStats> getStats() {
+        Map<String, ResultCacheStats> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, MethodResultCache> entry : cacheMap.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 清空所有方法缓存的结果（统计保留）
+     */
+    public static void clear() {
+        for (MethodResultCache cache : cacheMap.values()) {
+            cache.clear();
+        }
+    }
+}
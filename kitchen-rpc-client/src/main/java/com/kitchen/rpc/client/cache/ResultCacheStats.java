@@ -0,0 +1,63 @@
+package com.kitchen.rpc.client.cache;
+
+/**
+ * 结果缓存的统计（快照）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ResultCacheStats {
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    ResultCacheStats(int size, long hits, long misses, long evictions, long expirations) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    /**
+     * 当前缓存的条目数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 因超出条目数上限被淘汰的条目数
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 因过期被移除的条目数
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", expirations=" + expirations;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kitchen.rpc.client.config;
+
+/**
+ * 客户端连接通道的使用方式
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public enum ChannelMode {
+    /**
+     * 连接池：每次请求独占一个连接，直至收到响应后归还（并发请求数 = 连接数）
+     */
+    POOLED,
+    /**
+     * 多路复用：每个服务提供者只建立少量长连接，并发请求共享连接，按请求ID匹配响应（响应可乱序返回）
+     */
+    MULTIPLEX
+}
@@ -1,5 +1,7 @@
 package com.kitchen.rpc.client.config;
 
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
+import com.kitchen.rpc.registry.policy.HashKeyType;
 import com.kitchen.rpc.registry.policy.LoadBalancePolicyType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
@@ -26,6 +28,58 @@ public class RpcClientConfig {
      */
     @Value("${kitchen.rpc.client.discovery-policy:RoundRobin}")
     public LoadBalancePolicyType SERVICE_LB_POLICY;
+    /**
+     * 一致性哈希负载均衡的哈希键类型（RequestIp：请求IP；SessionId：请求会话），服务方法参数标注了@RpcHashKey时以参数值为准
+     */
+    @Value("${kitchen.rpc.client.hash-key:RequestIp}")
+    public HashKeyType hashKeyType;
+    /**
+     * 一致性哈希的负载系数：每个服务提供者进行中的请求数不超过平均值的倍数（如1.25），不大于0时不限制
+     */
+    @Value("${kitchen.rpc.client.hash-load-factor:0}")
+    public double hashLoadFactor;
+    /**
+     * 通信帧格式（需与服务提供者一致，升级过渡期间可指定为VARINT_LENGTH）
+     */
+    @Value("${kitchen.rpc.client.frame-format:FIXED_HEADER}")
+    public FrameFormat frameFormat;
+
+    /**
+     * 优先使用的序列化器（protostuff、kryo或扩展的序列化器名称，服务提供者不支持时使用protostuff）
+     * 使用kryo时，业务参数及返回值的类型须在两端以相同顺序通过KryoSerializer.register注册
+     */
+    @Value("${kitchen.rpc.client.serializer:protostuff}")
+    public String serializer;
+
+    /**
+     * 连接通道的使用方式（POOLED：连接池，每次请求独占连接；MULTIPLEX：多路复用，并发请求共享少量长连接）
+     */
+    @Value("${kitchen.rpc.client.channel-mode:POOLED}")
+    public ChannelMode channelMode;
+
+    /**
+     * 多路复用模式下，每个服务提供者的连接数
+     */
+    @Value("${kitchen.rpc.client.multiplex-connections:2}")
+    public int multiplexConnections;
+
+    /**
+     * 默认的请求超时时间（毫秒），服务接口及方法可通过@RpcTimeout单独指定，不大于0时不限制
+     */
+    @Value("${kitchen.rpc.client.request-timeout:30000}")
+    public long requestTimeout;
+
+    /**
+     * 对冲预算：对冲请求占@RpcHedged方法调用数的最大百分比
+     */
+    @Value("${kitchen.rpc.client.hedge-budget-percent:10}")
+    public int hedgeBudgetPercent;
+
+    /**
+     * 重试预算：故障转移的重试请求占@RpcFailover方法调用数的最大百分比
+     */
+    @Value("${kitchen.rpc.client.retry-budget-percent:20}")
+    public int retryBudgetPercent;
 
     /**
      * 连接通道池最大连接数
@@ -4,10 +4,13 @@ import com.kitchen.rpc.client.RpcCallback;
 import com.kitchen.rpc.common.RequestMode;
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.common.meta.RpcResponse;
+import io.netty.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +32,28 @@ public class RpcClientFuture implements Future<Object> {
 
     private List<RpcCallback> callbacks;
 
+    /**
+     * 返回给调用方的CompletableFuture（仅FUTURE请求）
+     */
+    private CompletableFuture<Object> resultFuture;
+
+    /**
+     * 请求超时时间（毫秒），不大于0时不限制
+     */
+    private long timeoutMillis;
+    /**
+     * 在超时定时器中登记的超时任务，收到响应后取消
+     */
+    private volatile Timeout timeout;
+    /**
+     * 客户端产生的失败（如请求超时），同步请求的get()直接抛出
+     */
+    private volatile RuntimeException failure;
+    /**
+     * 是否为批量请求中的一项（连接在整批完成后统一释放）
+     */
+    private boolean batchItem;
+
     private long responseTimeThreshold = 5000;
 
     public RpcClientFuture(RpcRequest request, String serviceAddress) {
@@ -36,6 +61,9 @@ public class RpcClientFuture implements Future<Object> {
         this.request = request;
         this.serviceAddress = serviceAddress;
         this.startTime = System.currentTimeMillis();
+        if (request.getRequestMode() == RequestMode.FUTURE) {
+            this.resultFuture = new CompletableFuture<>();
+        }
     }
 
     public RpcRequest getRequest() {
@@ -56,6 +84,41 @@ public class RpcClientFuture implements Future<Object> {
         return callbacks;
     }
 
+    public CompletableFuture<Object> getResultFuture() {
+        return resultFuture;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    public void cancelTimeout() {
+        Timeout timeout = this.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public boolean isBatchItem() {
+        return batchItem;
+    }
+
+    public void setBatchItem(boolean batchItem) {
+        this.batchItem = batchItem;
+    }
+
+    public void setFailure(RuntimeException failure) {
+        this.failure = failure;
+    }
+
     @Override
     public boolean isDone() {
         return rpcFutureSync.isDone();
@@ -67,6 +130,9 @@ public class RpcClientFuture implements Future<Object> {
             return null;
         }
         rpcFutureSync.acquire(-1);
+        if (this.failure != null) {
+            throw this.failure;
+        }
         if (this.response != null) {
             return this.response.getResult();
         } else {
@@ -81,6 +147,9 @@ public class RpcClientFuture implements Future<Object> {
         }
         boolean success = rpcFutureSync.tryAcquireNanos(-1, unit.toNanos(timeout));
         if (success) {
+            if (this.failure != null) {
+                throw this.failure;
+            }
             if (this.response != null) {
                 return this.response.getResult();
             } else {
@@ -89,7 +158,7 @@ public class RpcClientFuture implements Future<Object> {
         } else {
             throw new RuntimeException("Timeout exception. Request id: " + this.request.getRequestId()
                     + ". Request class name: " + this.request.getInterfaceName()
-                    + ". Request method: " + this.request.getMethodName());
+                    + ". Request method: " + this.request.getMethodSignature());
         }
     }
 
@@ -105,6 +174,18 @@ public class RpcClientFuture implements Future<Object> {
 
     public void done(RpcResponse reponse) {
         this.response = reponse;
+        if (resultFuture != null) {
+            // 服务内抛出的异常（调用器包装为InvocationTargetException）还原后传递给调用方
+            Throwable exception = reponse.getException();
+            if (exception instanceof InvocationTargetException && exception.getCause() != null) {
+                exception = exception.getCause();
+            }
+            if (exception != null) {
+                resultFuture.completeExceptionally(exception);
+            } else {
+                resultFuture.complete(reponse.getResult());
+            }
+        }
         if (request.getRequestMode() != RequestMode.SYNC) {
             return;
         }
@@ -114,7 +195,7 @@ public class RpcClientFuture implements Future<Object> {
 
         // Threshold
         long responseTime = System.currentTimeMillis() - startTime;
-        if (responseTime > this.responseTimeThreshold) {
+        if (failure == null && responseTime > this.responseTimeThreshold) {
             LOGGER.warn("Service response time is too slow. Request id = " + reponse.getRequestId() + ". Response Time = " + responseTime + "ms");
         }
     }
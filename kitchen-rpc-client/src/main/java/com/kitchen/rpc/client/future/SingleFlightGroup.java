@@ -0,0 +1,82 @@
+package com.kitchen.rpc.client.future;
+
+import com.kitchen.rpc.client.cache.ArgumentsKey;
+import com.kitchen.rpc.common.annotation.RpcSingleFlight;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个服务方法正在进行中的调用（调用参数 -> 调用结果）
+ * 第一个调用发送请求，进行期间到达的相同调用等待其结果；调用完成后即移除，之后的调用重新发送请求
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class SingleFlightGroup {
+    /**
+     * 各服务方法的进行中调用（方法键 -> 进行中的调用），同一方法（不同的代理实例）共享
+     */
+    private static Map<String, SingleFlightGroup> groupMap = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ArgumentsKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    /**
+     * 被合并（未发送请求）的调用数
+     */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 获取服务方法的进行中调用，方法未标注@RpcSingleFlight时返回null
+     *
+     * @param methodKey 方法键（服务名#方法签名）
+     */
+    public static SingleFlightGroup of(String methodKey, Method method) {
+        if (!method.isAnnotationPresent(RpcSingleFlight.class)) {
+            return null;
+        }
+        return groupMap.computeIfAbsent(methodKey, key -> new SingleFlightGroup());
+    }
+
+    /**
+     * 获取各方法被合并的调用数（方法键 -> 调用数）
+     */
+    public static Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, SingleFlightGroup> entry : groupMap.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().getCoalesced());
+        }
+        return stats;
+    }
+
+    /**
+     * 登记调用：已有相同的调用在进行中时返回其结果（当前调用无需发送请求），否则登记flight并返回null
+     */
+    public CompletableFuture<Object> join(ArgumentsKey key, CompletableFuture<Object> flight) {
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * 调用完成：先移除再通知等待者，之后到达的调用重新发送请求
+     */
+    public void complete(ArgumentsKey key, CompletableFuture<Object> flight, Object result, Throwable exception) {
+        flights.remove(key, flight);
+        if (exception != null) {
+            flight.completeExceptionally(exception);
+        } else {
+            flight.complete(result);
+        }
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,217 @@
+package com.kitchen.rpc.client.handler;
+
+import com.kitchen.rpc.client.RpcContext;
+import com.kitchen.rpc.client.cache.ChannelMethodTable;
+import com.kitchen.rpc.client.cache.ClientChannelCache;
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.util.RpcStringUtil;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * RPC客户端批量调用的执行器
+ * 记录通过代理发起的调用，执行时按服务地址分组，每组的调用在一个批量请求帧中发送
+ * VARINT_LENGTH帧格式不支持批量请求，逐个以FUTURE方式发送
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ClientBatchInvoker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientBatchInvoker.class);
+
+    private List<BatchCall> calls = new ArrayList<>();
+
+    /**
+     * 创建记录调用的代理处理器（代理方法只记录调用，返回默认值）
+     */
+    public InvocationHandler createRecorder(String serviceVersion) {
+        return new BatchRecorder(serviceVersion);
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    /**
+     * 发送已记录的调用，返回与调用顺序一一对应的结果，并清空已记录的调用
+     */
+    public List<CompletableFuture<Object>> execute() {
+        List<BatchCall> batchCalls = this.calls;
+        this.calls = new ArrayList<>();
+
+        List<CompletableFuture<Object>> results = new ArrayList<>(batchCalls.size());
+        if (ClientChannelCache.getFrameFormat() == FrameFormat.VARINT_LENGTH) {
+            for (BatchCall call : batchCalls) {
+                results.add(invokeSingle(call));
+            }
+            return results;
+        }
+
+        // 按服务地址分组（每个请求单独选择服务地址，一致性哈希按各自的哈希键选择，有界负载、最少等待等策略同样逐个生效）
+        ClientChannelCache channelCache = ClientChannelCache.getInstance();
+        Map<String, List<Integer>> addressGroups = new LinkedHashMap<>();
+        List<RpcRequest> requests = new ArrayList<>(batchCalls.size());
+        for (int i = 0; i < batchCalls.size(); i++) {
+            BatchCall call = batchCalls.get(i);
+            RpcRequest request = ClientProxyInvocationHandler.createRequest(call.methodMeta, call.serviceVersion, RequestMode.FUTURE, call.args);
+            requests.add(request);
+            results.add(null);
+
+            String serviceAddress = channelCache.getServiceAddress(call.methodMeta.serviceName, request);
+            List<Integer> group = addressGroups.get(serviceAddress);
+            if (group == null) {
+                group = new ArrayList<>();
+                addressGroups.put(serviceAddress, group);
+            }
+            group.add(i);
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : addressGroups.entrySet()) {
+            sendGroup(channelCache, entry.getKey(), entry.getValue(), batchCalls, requests, results);
+        }
+        return results;
+    }
+
+    private void sendGroup(ClientChannelCache channelCache, String serviceAddress, List<Integer> group,
+                           List<BatchCall> batchCalls, List<RpcRequest> requests, List<CompletableFuture<Object>> results) {
+        Channel channel = null;
+        try {
+            if (RpcStringUtil.isNotEmpty(serviceAddress)) {
+                channel = channelCache.getChannel(serviceAddress);
+            }
+        } catch (Exception e) {
+            LOGGER.error("在RPC通道连接池中获取连接失败", e);
+        }
+        if (channel == null) {
+            for (int index : group) {
+                CompletableFuture<Object> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RpcConnectionException("在RPC通道连接池中获取连接失败：" + serviceAddress));
+                results.set(index, failed);
+            }
+            return;
+        }
+
+        List<RpcRequest> groupRequests = new ArrayList<>(group.size());
+        long[] timeoutMillis = new long[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            BatchCall call = batchCalls.get(group.get(i));
+            RpcRequest request = requests.get(group.get(i));
+            // 连接已完成握手时，使用协商的方法编号代替服务名与方法签名
+            request.setMethodId(ChannelMethodTable.getMethodId(channel, call.methodMeta.methodKey));
+            groupRequests.add(request);
+            timeoutMillis[i] = call.timeoutMillis;
+        }
+
+        ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
+        List<CompletableFuture<Object>> groupResults = clientChannelInboundHandler.sendBatch(channel, groupRequests, timeoutMillis);
+        for (int i = 0; i < group.size(); i++) {
+            results.set(group.get(i), groupResults.get(i));
+        }
+
+        // 整批完成（含超时、连接断开）后释放连接
+        Channel batchChannel = channel;
+        CompletableFuture.allOf(groupResults.toArray(new CompletableFuture<?>[0])).whenComplete(new BiConsumer<Void, Throwable>() {
+            @Override
+            public void accept(Void result, Throwable e) {
+                channelCache.releaseChannel(batchChannel);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> invokeSingle(BatchCall call) {
+        try {
+            ClientProxyInvocationHandler handler = new ClientProxyInvocationHandler(call.serviceVersion, RequestMode.FUTURE);
+            // 记录调用时取出的超时时间，在执行线程上重新指定
+            RpcContext.setTimeout(call.timeoutMillis);
+            return (CompletableFuture<Object>) handler.invoke(null, call.method, call.args);
+        } catch (Throwable e) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0F;
+        } else {
+            return 0D;
+        }
+    }
+
+    /**
+     * 记录调用的代理处理器
+     */
+    private class BatchRecorder implements InvocationHandler {
+        private final String serviceVersion;
+        private final Map<Method, MethodMeta> methodMetaCache = new HashMap<>();
+
+        BatchRecorder(String serviceVersion) {
+            this.serviceVersion = serviceVersion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            MethodMeta methodMeta = methodMetaCache.get(method);
+            if (methodMeta == null) {
+                methodMeta = new MethodMeta(method, serviceVersion);
+                methodMetaCache.put(method, methodMeta);
+            }
+            // RpcContext指定的超时时间属于记录调用的线程，在此时取出，而不是在执行时
+            long timeoutMillis = RpcContext.takeTimeout(methodMeta.timeoutMillis);
+            calls.add(new BatchCall(method, serviceVersion, methodMeta, args, timeoutMillis));
+            return defaultValue(method.getReturnType());
+        }
+    }
+
+    /**
+     * 已记录的调用
+     */
+    private static final class BatchCall {
+        final Method method;
+        final String serviceVersion;
+        final MethodMeta methodMeta;
+        final Object[] args;
+        final long timeoutMillis;
+
+        BatchCall(Method method, String serviceVersion, MethodMeta methodMeta, Object[] args, long timeoutMillis) {
+            this.method = method;
+            this.serviceVersion = serviceVersion;
+            this.methodMeta = methodMeta;
+            this.args = args;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+}
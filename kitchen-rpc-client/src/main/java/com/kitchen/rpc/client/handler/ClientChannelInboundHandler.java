@@ -4,18 +4,36 @@ import com.kitchen.rpc.client.RpcCallback;
 import com.kitchen.rpc.client.future.RpcClientFuture;
 import com.kitchen.rpc.client.cache.ClientChannelCache;
 import com.kitchen.rpc.client.thread.CallbackThreadPool;
+import com.kitchen.rpc.client.thread.RequestTimeoutTimer;
 import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.codec.frame.PendingRequestFilter;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.exception.RpcTimeoutException;
+import com.kitchen.rpc.common.meta.RpcBatchRequest;
+import com.kitchen.rpc.common.meta.RpcBatchResponse;
+import com.kitchen.rpc.common.meta.RpcMessage;
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.common.meta.RpcResponse;
+import com.kitchen.rpc.registry.policy.AddressLoadTracker;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import io.netty.util.internal.PlatformDependent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * RPC客户端请求发送处理器
@@ -23,55 +41,307 @@ import java.util.concurrent.ConcurrentHashMap;
  * @date 2016-12-18
  * @author 赵梓彧 - kitchen_dev@163.com
  */
-public class ClientChannelInboundHandler extends SimpleChannelInboundHandler<RpcResponse> {
+public class ClientChannelInboundHandler extends SimpleChannelInboundHandler<RpcMessage> implements PendingRequestFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientChannelInboundHandler.class);
 
-    private ConcurrentHashMap<String, RpcClientFuture> pendingList = new ConcurrentHashMap<>();
+    /**
+     * 等待响应的请求（请求ID -> 请求结果）
+     * 只在通道所属的EventLoop中读写，无需加锁
+     */
+    private LongObjectMap<RpcClientFuture> pendingList = new LongObjectHashMap<>();
+    /**
+     * 上一个请求ID（连接内递增，只在EventLoop中修改）
+     */
+    private long lastRequestId;
+    /**
+     * 待发送的请求（调用方线程无锁入队，EventLoop排空）
+     */
+    private final Queue<RpcClientFuture> sendQueue = PlatformDependent.newMpscQueue();
+    /**
+     * 是否已提交发送队列的排空任务
+     */
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
 
-    public RpcClientFuture sendRequest(Channel channel, RpcRequest request) {
+    public RpcClientFuture sendRequest(Channel channel, RpcRequest request, long timeoutMillis) {
         InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
         String serviceAddress = remoteAddress.getAddress().getHostAddress() + ":" + remoteAddress.getPort();
 
         RpcClientFuture rpcFuture = new RpcClientFuture(request, serviceAddress);
-
-        pendingList.put(request.getRequestId(), rpcFuture);
-        channel.writeAndFlush(request);
+        rpcFuture.setTimeoutMillis(timeoutMillis);
+        writeRequest(channel, rpcFuture);
 
         return rpcFuture;
     }
 
-    public void sendRequest(Channel channel, RpcRequest request, List<RpcCallback> callbackList) {
+    public void sendRequest(Channel channel, RpcRequest request, long timeoutMillis, List<RpcCallback> callbackList) {
         InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
         String serviceAddress = remoteAddress.getAddress().getHostAddress() + ":" + remoteAddress.getPort();
 
         RpcClientFuture rpcFuture = new RpcClientFuture(request, serviceAddress);
+        rpcFuture.setTimeoutMillis(timeoutMillis);
         if (callbackList != null && callbackList.size() > 0) {
             rpcFuture.setCallbacks(callbackList);
         }
-        pendingList.put(request.getRequestId(), rpcFuture);
-        channel.writeAndFlush(request);
+        writeRequest(channel, rpcFuture);
+    }
+
+    /**
+     * 发送单向请求（ASYNC，无需等待响应）
+     */
+    public void sendOneway(Channel channel, RpcRequest request) {
+        writeRequest(channel, new RpcClientFuture(request, null));
+    }
+
+    /**
+     * 在一个帧中发送批量请求（请求均为FUTURE类型），返回与请求一一对应的结果
+     * 各请求分别登记、分别超时，连接由调用方在整批完成后释放
+     */
+    public List<CompletableFuture<Object>> sendBatch(Channel channel, List<RpcRequest> requests, long[] timeoutMillis) {
+        InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteAddress();
+        String serviceAddress = remoteAddress.getAddress().getHostAddress() + ":" + remoteAddress.getPort();
+
+        List<RpcClientFuture> rpcFutures = new ArrayList<>(requests.size());
+        List<CompletableFuture<Object>> resultFutures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RpcClientFuture rpcFuture = new RpcClientFuture(requests.get(i), serviceAddress);
+            rpcFuture.setTimeoutMillis(timeoutMillis[i]);
+            rpcFuture.setBatchItem(true);
+            rpcFutures.add(rpcFuture);
+            resultFutures.add(rpcFuture.getResultFuture());
+        }
+        channel.eventLoop().execute(new Runnable() {
+            @Override
+            public void run() {
+                writeBatch0(channel, rpcFutures);
+            }
+        });
+        return resultFutures;
+    }
+
+    private void writeBatch0(Channel channel, List<RpcClientFuture> rpcFutures) {
+        List<RpcRequest> requests = new ArrayList<>(rpcFutures.size());
+        long[] requestIds = new long[rpcFutures.size()];
+        RpcBatchRequest batchRequest = new RpcBatchRequest();
+        for (int i = 0; i < rpcFutures.size(); i++) {
+            RpcClientFuture rpcFuture = rpcFutures.get(i);
+            RpcRequest request = rpcFuture.getRequest();
+            long requestId = ++lastRequestId;
+            request.setRequestId(requestId);
+            addPending(requestId, rpcFuture);
+            scheduleTimeout(channel, rpcFuture, requestId);
+            requests.add(request);
+            requestIds[i] = requestId;
+            // 任一服务方法配置了压缩时，整个批量请求按其策略压缩
+            if (batchRequest.getCompression() == null) {
+                batchRequest.setCompression(request.getCompression());
+            }
+        }
+        batchRequest.setRequestId(requestIds.length > 0 ? requestIds[0] : 0L);
+        batchRequest.setRequests(requests);
+        batchRequest.setRequestIds(requestIds);
+        channel.writeAndFlush(batchRequest).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    for (long requestId : requestIds) {
+                        handleWriteFailure(channel, requestId, future.cause());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 请求放入连接的发送队列，由EventLoop批量发送
+     * 发送队列非空期间只提交一次排空任务，并发请求只需一次线程切换
+     */
+    private void writeRequest(Channel channel, RpcClientFuture rpcFuture) {
+        sendQueue.offer(rpcFuture);
+        if (drainScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(new Runnable() {
+                @Override
+                public void run() {
+                    drainSendQueue(channel);
+                }
+            });
+        }
+    }
+
+    /**
+     * 在EventLoop中排空发送队列：逐个分配请求ID、登记并写入，整批只flush一次（多个请求合并到一次系统调用）
+     */
+    private void drainSendQueue(Channel channel) {
+        // 先清除标记再排空，排空期间新入队的请求会再提交一次排空任务，不会遗漏
+        drainScheduled.set(false);
+        RpcClientFuture rpcFuture;
+        while ((rpcFuture = sendQueue.poll()) != null) {
+            writeRequest0(channel, rpcFuture);
+        }
+        channel.flush();
+    }
+
+    private void writeRequest0(Channel channel, RpcClientFuture rpcFuture) {
+        RpcRequest request = rpcFuture.getRequest();
+        if (request.getRequestMode() == RequestMode.ASYNC) {
+            // 单向请求不登记、不等待响应
+            channel.write(request, channel.voidPromise());
+            return;
+        }
+        long requestId = ++lastRequestId;
+        request.setRequestId(requestId);
+        addPending(requestId, rpcFuture);
+        scheduleTimeout(channel, rpcFuture, requestId);
+        channel.write(request).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    // 发送失败（如连接已关闭），立即结束请求
+                    handleWriteFailure(channel, requestId, future.cause());
+                }
+            }
+        });
+    }
+
+    /**
+     * 登记等待响应的请求，并计入服务地址的负载
+     */
+    private void addPending(long requestId, RpcClientFuture rpcFuture) {
+        pendingList.put(requestId, rpcFuture);
+        AddressLoadTracker.increment(rpcFuture.getServiceAddress());
+    }
+
+    /**
+     * 移除等待响应的请求（已结束时返回null），并从服务地址的负载中扣除
+     */
+    private RpcClientFuture removePending(long requestId) {
+        RpcClientFuture rpcFuture = pendingList.remove(requestId);
+        if (rpcFuture != null) {
+            AddressLoadTracker.decrement(rpcFuture.getServiceAddress());
+        }
+        return rpcFuture;
+    }
+
+    private void handleWriteFailure(Channel channel, long requestId, Throwable cause) {
+        RpcClientFuture channelFuture = removePending(requestId);
+        if (channelFuture == null) {
+            return;
+        }
+        channelFuture.cancelTimeout();
+        RpcRequest request = channelFuture.getRequest();
+        LOGGER.error("RPC请求发送失败：" + channelFuture.getServiceAddress() + " " + request.getInterfaceName() + "#" + request.getMethodSignature(), cause);
+        handleFailure(channel, channelFuture, new RpcConnectionException("RPC请求发送失败："
+                + channelFuture.getServiceAddress() + " " + request.getInterfaceName() + "#" + request.getMethodSignature()
+                + "，请求ID：" + requestId));
+    }
+
+    /**
+     * 在共享的时间轮中登记请求超时，到期后回到EventLoop中移除等待的请求并以超时异常结束
+     */
+    private void scheduleTimeout(Channel channel, RpcClientFuture rpcFuture, long requestId) {
+        long timeoutMillis = rpcFuture.getTimeoutMillis();
+        if (timeoutMillis <= 0) {
+            return;
+        }
+        rpcFuture.setTimeout(RequestTimeoutTimer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                channel.eventLoop().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        handleTimeout(channel, requestId);
+                    }
+                });
+            }
+        }, timeoutMillis));
+    }
+
+    private void handleTimeout(Channel channel, long requestId) {
+        RpcClientFuture channelFuture = removePending(requestId);
+        if (channelFuture == null) {
+            // 超时前已收到响应
+            return;
+        }
+        RpcRequest request = channelFuture.getRequest();
+        RpcTimeoutException exception = new RpcTimeoutException("RPC请求超时（" + channelFuture.getTimeoutMillis() + "ms）："
+                + channelFuture.getServiceAddress() + " " + request.getInterfaceName() + "#" + request.getMethodSignature()
+                + "，请求ID：" + requestId);
+        LOGGER.warn(exception.getMessage());
+        handleFailure(channel, channelFuture, exception);
+    }
+
+    /**
+     * 以客户端产生的异常结束请求（同步请求抛出该异常，异步请求按响应异常分发）
+     */
+    private void handleFailure(Channel channel, RpcClientFuture channelFuture, RuntimeException exception) {
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(channelFuture.getRequest().getRequestId());
+        response.setException(exception);
+        channelFuture.setFailure(exception);
+        handleResponse(channel, channelFuture, response);
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext channelHandlerContext, RpcResponse rpcResponse) throws Exception {
-        String requestId = rpcResponse.getRequestId();
-        RpcClientFuture channelFuture = pendingList.get(requestId);
-        if (channelFuture != null) {
-            pendingList.remove(requestId);
-
-            if (rpcResponse.getRequestMode() == RequestMode.SYNC) {
-                // 同步请求需要释放锁
-                channelFuture.done(rpcResponse);
-            } else if (rpcResponse.getRequestMode() == RequestMode.ASYNC_CALLBACK) {
-                // 异步回调请求需要处理回调函数
-                handleCallback(
-                        channelHandlerContext.channel(),
-                        channelFuture.getCallbacks(),
-                        rpcResponse
-                );
+    public boolean isPending(long requestId) {
+        return pendingList.containsKey(requestId);
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, RpcMessage message) throws Exception {
+        if (message instanceof RpcBatchResponse) {
+            // 批量响应按请求ID逐项分发
+            RpcBatchResponse batchResponse = (RpcBatchResponse) message;
+            long[] requestIds = batchResponse.getRequestIds();
+            List<RpcResponse> responses = batchResponse.getResponses();
+            for (int i = 0; i < requestIds.length; i++) {
+                RpcResponse rpcResponse = responses.get(i);
+                rpcResponse.setRequestId(requestIds[i]);
+                readResponse(channelHandlerContext.channel(), rpcResponse);
             }
+        } else if (message instanceof RpcResponse) {
+            readResponse(channelHandlerContext.channel(), (RpcResponse) message);
+        }
+    }
+
+    private void readResponse(Channel channel, RpcResponse rpcResponse) {
+        RpcClientFuture channelFuture = removePending(rpcResponse.getRequestId());
+        if (channelFuture != null) {
+            channelFuture.cancelTimeout();
+            handleResponse(channel, channelFuture, rpcResponse);
         }
+        // 未找到等待的请求（已超时），丢弃响应
+    }
+
+    private void handleResponse(Channel channel, RpcClientFuture channelFuture, RpcResponse rpcResponse) {
+        // 响应中不再携带请求类型，以发出的请求为准
+        RequestMode requestMode = channelFuture.getRequest().getRequestMode();
+        if (requestMode == RequestMode.SYNC) {
+            // 同步请求需要释放锁
+            channelFuture.done(rpcResponse);
+        } else if (requestMode == RequestMode.ASYNC_CALLBACK) {
+            // 异步回调请求需要处理回调函数
+            handleCallback(
+                    channel,
+                    channelFuture.getCallbacks(),
+                    rpcResponse
+            );
+        } else if (requestMode == RequestMode.FUTURE) {
+            handleFuture(channel, channelFuture, rpcResponse);
+        }
+    }
+
+    private void handleFuture(Channel channel, RpcClientFuture future, RpcResponse response) {
+        // 释放连接（批量请求在整批完成后统一释放）
+        if (!future.isBatchItem()) {
+            ClientChannelCache.getInstance().releaseChannel(channel);
+        }
+        // 在回调线程池中完成Future，调用方组合的后续处理不会占用IO线程
+        CallbackThreadPool.handlerCallback(new Runnable() {
+            @Override
+            public void run() {
+                future.done(response);
+            }
+        });
     }
 
     private void handleCallback(Channel channel, List<RpcCallback> callbackList, RpcResponse response) {
@@ -92,11 +362,32 @@ public class ClientChannelInboundHandler extends SimpleChannelInboundHandler<Rpc
         }
     }
 
+    /**
+     * 连接关闭时，连接上所有等待响应的请求立即以连接断开异常结束，不再等待超时
+     * 已关闭的连接在归还时由连接池丢弃（多路复用连接组在连接关闭时移除该连接）
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (!pendingList.isEmpty()) {
+            List<RpcClientFuture> pendingFutures = new ArrayList<>(pendingList.values());
+            pendingList.clear();
+            LOGGER.warn("RPC连接已断开：" + ctx.channel().remoteAddress() + "，结束" + pendingFutures.size() + "个等待响应的请求");
+            for (RpcClientFuture channelFuture : pendingFutures) {
+                AddressLoadTracker.decrement(channelFuture.getServiceAddress());
+                channelFuture.cancelTimeout();
+                RpcRequest request = channelFuture.getRequest();
+                handleFailure(ctx.channel(), channelFuture, new RpcConnectionException("RPC连接已断开："
+                        + channelFuture.getServiceAddress() + " " + request.getInterfaceName() + "#" + request.getMethodSignature()
+                        + "，请求ID：" + request.getRequestId()));
+            }
+        }
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         LOGGER.error("ClientChannelInboundHandler捕获异常", cause);
-        // 释放连接通道
-        ClientChannelCache.getInstance().releaseChannel(ctx.channel());
+        // 关闭连接，等待响应的请求在channelInactive中结束并释放连接
         ctx.close();
     }
 }
@@ -0,0 +1,47 @@
+package com.kitchen.rpc.client.handler;
+
+import com.kitchen.rpc.client.cache.ChannelMethodTable;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
+import com.kitchen.rpc.common.meta.RpcHandshake;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RPC 客户端的握手处理器
+ * 连接建立后发送握手请求，并保存服务端回复的方法编号表及选定的序列化器
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ClientHandshakeHandler extends SimpleChannelInboundHandler<RpcMethodTable> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientHandshakeHandler.class);
+
+    private RpcSerializer serializer;
+
+    public ClientHandshakeHandler(RpcSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        RpcHandshake handshake = new RpcHandshake();
+        // 优先使用配置的序列化器，服务端不支持时使用默认序列化器
+        handshake.setSerializerIds(new byte[]{serializer.getId(), SerializerCache.getDefault().getId()});
+        ctx.writeAndFlush(handshake);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, RpcMethodTable methodTable) throws Exception {
+        ChannelMethodTable.set(channelHandlerContext.channel(), methodTable);
+        RpcSerializer selected = SerializerCache.get(methodTable.getSerializerId());
+        if (selected != null) {
+            SerializerCache.set(channelHandlerContext.channel(), selected);
+        }
+        LOGGER.debug("连接通道完成握手：" + channelHandlerContext.channel().id());
+    }
+}
@@ -1,13 +1,27 @@
 package com.kitchen.rpc.client.handler;
 
 import com.kitchen.rpc.client.RpcCallback;
+import com.kitchen.rpc.client.RpcContext;
 import com.kitchen.rpc.client.future.RpcClientFuture;
+import com.kitchen.rpc.client.future.SingleFlightGroup;
+import com.kitchen.rpc.client.policy.FailoverPolicy;
+import com.kitchen.rpc.client.policy.HedgePolicy;
+import com.kitchen.rpc.client.policy.RequestBudget;
+import com.kitchen.rpc.client.thread.CallbackThreadPool;
+import com.kitchen.rpc.client.thread.RequestTimeoutTimer;
+import com.kitchen.rpc.client.cache.ArgumentsKey;
+import com.kitchen.rpc.client.cache.ChannelMethodTable;
 import com.kitchen.rpc.client.cache.ClientChannelCache;
+import com.kitchen.rpc.client.cache.MethodResultCache;
 import com.kitchen.rpc.common.RequestMode;
 import com.kitchen.rpc.common.exception.RpcChannelException;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.exception.RpcTimeoutException;
 import com.kitchen.rpc.common.meta.RpcRequest;
-import com.kitchen.rpc.common.meta.RpcRequestParam;
+import com.kitchen.rpc.common.util.RpcStringUtil;
 import io.netty.channel.Channel;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -17,9 +31,18 @@ import javax.servlet.http.HttpServletRequest;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * RPC客户端请求代理的处理器
@@ -41,6 +64,11 @@ public class ClientProxyInvocationHandler implements InvocationHandler {
 
     private List<RpcCallback> callbacks;
 
+    /**
+     * 服务方法的请求元数据缓存（服务名、方法签名、方法键只在首次调用时生成）
+     */
+    private Map<Method, MethodMeta> methodMetaCache = new ConcurrentHashMap<>();
+
     public ClientProxyInvocationHandler(String serviceVersion, RequestMode requestMode) {
         this.serviceVersion = serviceVersion;
         this.requestMode = requestMode;
@@ -54,80 +82,366 @@ public class ClientProxyInvocationHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        Object result = null;
-        Channel channel = null;
-        try {
-            String interfaceName = method.getDeclaringClass().getName();
-
-            // 构建RPC请求对象，并设置请求属性
-            RpcRequest request = new RpcRequest();
-            request.setRequestId(UUID.randomUUID().toString());
-            request.setRequestMode(requestMode);
-
-            request.setInterfaceName(interfaceName);
-            request.setServiceVersion(serviceVersion);
-            request.setMethodName(method.getName());
-
-            // 处理请求方法的参数
-            HashMap<Integer, RpcRequestParam> paramHashMap = new HashMap<>();
-            Class<?>[] parameterTypes = method.getParameterTypes();
-            if (parameterTypes != null) {
-                for (int i = 0; i < parameterTypes.length; i++) {
-                    RpcRequestParam rpcRequestParam = new RpcRequestParam();
-                    rpcRequestParam.setParamType(parameterTypes[i]);
-                    rpcRequestParam.setParamValue(args[i]);
-                    paramHashMap.put(i, rpcRequestParam);
-                }
+        MethodMeta methodMeta = getMethodMeta(method);
+        // 返回CompletableFuture的服务方法，不论代理的请求类型，均以FUTURE方式请求
+        RequestMode requestMode = methodMeta.returnFuture ? RequestMode.FUTURE : this.requestMode;
+        // 超时时间：调用上下文指定 > @RpcTimeout > 默认超时时间
+        long timeoutMillis = RpcContext.takeTimeout(methodMeta.timeoutMillis);
+
+        // 结果缓存及调用合并仅适用于同步及FUTURE请求
+        if ((requestMode != RequestMode.SYNC && requestMode != RequestMode.FUTURE)
+                || (methodMeta.resultCache == null && methodMeta.singleFlight == null)) {
+            return invokeRemote(methodMeta, requestMode, timeoutMillis, args, null);
+        }
+        ArgumentsKey argumentsKey = ArgumentsKey.of(args);
+        if (methodMeta.resultCache != null) {
+            // 标注了@RpcCacheable的方法先查询结果缓存
+            Object cached = methodMeta.resultCache.get(argumentsKey);
+            if (cached != null) {
+                return requestMode == RequestMode.FUTURE ? CompletableFuture.completedFuture(cached) : cached;
             }
-            request.setParameters(paramHashMap);
+        }
+        if (methodMeta.singleFlight != null) {
+            return invokeSingleFlight(methodMeta, requestMode, timeoutMillis, args, argumentsKey);
+        }
+        return invokeRemote(methodMeta, requestMode, timeoutMillis, args, argumentsKey);
+    }
 
-            // 获取Http请求对象
-            // String sessionId = RequestContextHolder.currentRequestAttributes().getSessionId();
-            HttpServletRequest httpServletRequest = null;
+    /**
+     * 合并相同的调用（@RpcSingleFlight）：相同参数的调用正在进行时，等待其结果而不再发送请求
+     */
+    @SuppressWarnings("unchecked")
+    private Object invokeSingleFlight(MethodMeta methodMeta, RequestMode requestMode, long timeoutMillis,
+                                      Object[] args, ArgumentsKey argumentsKey) throws Throwable {
+        SingleFlightGroup singleFlight = methodMeta.singleFlight;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = singleFlight.join(argumentsKey, flight);
+        if (existing != null) {
+            if (requestMode == RequestMode.FUTURE) {
+                // 返回副本，调用方无法完成共享的结果
+                return existing.thenApply(Function.identity());
+            }
             try {
-                httpServletRequest = ((ServletRequestAttributes)RequestContextHolder.getRequestAttributes()).getRequest();
-            } catch (Exception e) {
-                // 非HTTP环境的请求，无需处理
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
             }
-            if (httpServletRequest != null) {
-                String ip = httpServletRequest.getRemoteAddr();// 获取请求IP
-                request.setRequestIp(ip);
+        }
 
-                String sessionId = httpServletRequest.getRequestedSessionId();// 获取请求会话
-                request.setRequestSessionId(sessionId);
-            }
+        Object result;
+        try {
+            result = invokeRemote(methodMeta, requestMode, timeoutMillis, args, argumentsKey);
+        } catch (Throwable e) {
+            singleFlight.complete(argumentsKey, flight, null, e);
+            throw e;
+        }
+        if (requestMode == RequestMode.FUTURE) {
+            ((CompletableFuture<Object>) result).whenComplete(new BiConsumer<Object, Throwable>() {
+                @Override
+                public void accept(Object value, Throwable e) {
+                    singleFlight.complete(argumentsKey, flight, value, e);
+                }
+            });
+        } else {
+            singleFlight.complete(argumentsKey, flight, result, null);
+        }
+        return result;
+    }
+
+    /**
+     * 发送请求
+     *
+     * @param argumentsKey 调用参数的键（需要缓存结果时不为null）
+     */
+    private Object invokeRemote(MethodMeta methodMeta, RequestMode requestMode, long timeoutMillis,
+                                Object[] args, ArgumentsKey argumentsKey) throws Exception {
+        if (methodMeta.hedgePolicy != null && (requestMode == RequestMode.SYNC || requestMode == RequestMode.FUTURE)) {
+            return invokeHedged(methodMeta, requestMode, timeoutMillis, args, argumentsKey);
+        }
+        if (methodMeta.failoverPolicy != null && (requestMode == RequestMode.SYNC || requestMode == RequestMode.FUTURE)) {
+            return invokeFailover(methodMeta, requestMode, timeoutMillis, args, argumentsKey);
+        }
+        Object result = null;
+        Channel channel = null;
+        MethodResultCache resultCache = argumentsKey != null ? methodMeta.resultCache : null;
+        try {
+            RpcRequest request = createRequest(methodMeta, serviceVersion, requestMode, args);
 
             // 从连接池获取连接
-            channel = ClientChannelCache.getInstance().getChannel(interfaceName, serviceVersion, request);
+            channel = ClientChannelCache.getInstance().getChannel(methodMeta.serviceName, request);
             if (channel == null) {
                 throw new RpcChannelException("在RPC通道连接池中获取连接失败");
             }
+            // 连接已完成握手时，使用协商的方法编号代替服务名与方法签名
+            request.setMethodId(ChannelMethodTable.getMethodId(channel, methodMeta.methodKey));
 
             if (requestMode == RequestMode.SYNC) {
                 // 在通道中发送请求，并同步等待相应结果
                 ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
-                RpcClientFuture future = clientChannelInboundHandler.sendRequest(channel, request);
+                RpcClientFuture future = clientChannelInboundHandler.sendRequest(channel, request, timeoutMillis);
                 result = future.get();
                 if (future.getResponse().hasException()) {
                     LOGGER.error("服务内抛出异常", future.getResponse().getException().getCause());
+                } else if (resultCache != null) {
+                    resultCache.put(argumentsKey, result);
                 }
             } else if (requestMode == RequestMode.ASYNC) {
-                channel.writeAndFlush(request);
+                // 单向请求同样经发送队列批量写入
+                ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
+                clientChannelInboundHandler.sendOneway(channel, request);
             } else if (requestMode == RequestMode.ASYNC_CALLBACK) {
                 // 在通道中发送请求
                 ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
-                clientChannelInboundHandler.sendRequest(channel, request, callbacks);
+                clientChannelInboundHandler.sendRequest(channel, request, timeoutMillis, callbacks);
+            } else if (requestMode == RequestMode.FUTURE) {
+                // 在通道中发送请求，立即返回Future（收到响应后完成）
+                ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
+                CompletableFuture<Object> resultFuture = clientChannelInboundHandler.sendRequest(channel, request, timeoutMillis).getResultFuture();
+                if (resultCache != null) {
+                    cacheOnComplete(resultFuture, resultCache, argumentsKey);
+                }
+                result = resultFuture;
             }
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
             throw e;
         } finally {
-            // 释放连接到连接池
-            if (requestMode != RequestMode.ASYNC_CALLBACK) {
+            // 释放连接到连接池（异步回调、FUTURE请求在收到响应后释放）
+            if (requestMode != RequestMode.ASYNC_CALLBACK && requestMode != RequestMode.FUTURE) {
                 ClientChannelCache.getInstance().releaseChannel(channel);
             }
         }
 
         return result;
     }
+
+    /**
+     * 对冲请求（@RpcHedged）：超过对冲延迟仍未收到响应时，在预算允许的情况下向另一个服务提供者发送相同的请求
+     * 先成功的响应作为结果，另一个响应到达后忽略；全部请求失败时以最后的异常结束
+     */
+    private Object invokeHedged(MethodMeta methodMeta, RequestMode requestMode, long timeoutMillis,
+                                Object[] args, ArgumentsKey argumentsKey) throws Exception {
+        HedgePolicy hedgePolicy = methodMeta.hedgePolicy;
+        RequestBudget budget = HedgePolicy.getBudget();
+        budget.deposit();
+        long startTime = System.currentTimeMillis();
+
+        // 两个请求均在调用方线程中构建（对冲请求在回调线程中发送，无法获取Http请求对象）
+        RpcRequest request = createRequest(methodMeta, serviceVersion, RequestMode.FUTURE, args);
+        RpcRequest hedgeRequest = createRequest(methodMeta, serviceVersion, RequestMode.FUTURE, args);
+        hedgeRequest.setRequestIp(request.getRequestIp());
+        hedgeRequest.setRequestSessionId(request.getRequestSessionId());
+
+        CompletableFuture<Object> resultFuture = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<Object, Throwable> attemptConsumer = new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object value, Throwable e) {
+                if (e == null) {
+                    resultFuture.complete(value);
+                } else if (outstanding.decrementAndGet() == 0) {
+                    resultFuture.completeExceptionally(e);
+                }
+            }
+        };
+
+        ClientChannelCache channelCache = ClientChannelCache.getInstance();
+        String primaryAddress = channelCache.getServiceAddress(methodMeta.serviceName, request);
+        sendFuture(methodMeta, request, primaryAddress, timeoutMillis).whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object value, Throwable e) {
+                // 只记录主请求自身的响应时间（对冲请求先返回时主请求的响应仍会到达），超时按超时时间记录
+                // 若记录调用的完成时间，对冲缩短的响应时间会使对冲延迟越来越小
+                if (e == null || e instanceof RpcTimeoutException) {
+                    hedgePolicy.recordLatency(System.currentTimeMillis() - startTime);
+                }
+                attemptConsumer.accept(value, e);
+            }
+        });
+
+        long delay = hedgePolicy.getDelay();
+        if (!resultFuture.isDone() && (timeoutMillis <= 0 || delay < timeoutMillis)) {
+            Timeout hedgeTimeout = RequestTimeoutTimer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout timeout) throws Exception {
+                    // 获取连接可能阻塞，不在定时器线程中发送
+                    CallbackThreadPool.handlerCallback(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (resultFuture.isDone()) {
+                                return;
+                            }
+                            String hedgeAddress = channelCache.getServiceAddress(methodMeta.serviceName, hedgeRequest,
+                                    Collections.singleton(primaryAddress));
+                            if (RpcStringUtil.isEmpty(hedgeAddress) || !budget.tryAcquire()) {
+                                return;
+                            }
+                            outstanding.incrementAndGet();
+                            hedgePolicy.recordHedge();
+                            long hedgeTimeoutMillis = timeoutMillis > 0 ? timeoutMillis - delay : timeoutMillis;
+                            sendFuture(methodMeta, hedgeRequest, hedgeAddress, hedgeTimeoutMillis).whenComplete(attemptConsumer);
+                        }
+                    });
+                }
+            }, delay);
+            resultFuture.whenComplete(new BiConsumer<Object, Throwable>() {
+                @Override
+                public void accept(Object value, Throwable e) {
+                    hedgeTimeout.cancel();
+                }
+            });
+        }
+
+        if (argumentsKey != null && methodMeta.resultCache != null) {
+            cacheOnComplete(resultFuture, methodMeta.resultCache, argumentsKey);
+        }
+        return requestMode == RequestMode.FUTURE ? resultFuture : awaitResult(resultFuture);
+    }
+
+    /**
+     * 故障转移（@RpcFailover）：请求因连接异常（或按配置的超时）失败时，在预算允许的情况下向另一个服务提供者重新发送
+     * 重试地址排除已失败的全部地址；调用的超时时间作为总截止时间，每次请求的超时时间由故障转移策略按剩余时间确定
+     */
+    private Object invokeFailover(MethodMeta methodMeta, RequestMode requestMode, long timeoutMillis,
+                                  Object[] args, ArgumentsKey argumentsKey) throws Exception {
+        FailoverPolicy.getBudget().deposit();
+        RpcRequest request = createRequest(methodMeta, serviceVersion, RequestMode.FUTURE, args);
+        String serviceAddress = ClientChannelCache.getInstance().getServiceAddress(methodMeta.serviceName, request);
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : 0L;
+
+        CompletableFuture<Object> resultFuture = new CompletableFuture<>();
+        sendWithFailover(methodMeta, request, serviceAddress, new HashSet<>(), timeoutMillis, deadline,
+                methodMeta.failoverPolicy.getRetries(), resultFuture);
+
+        if (argumentsKey != null && methodMeta.resultCache != null) {
+            cacheOnComplete(resultFuture, methodMeta.resultCache, argumentsKey);
+        }
+        return requestMode == RequestMode.FUTURE ? resultFuture : awaitResult(resultFuture);
+    }
+
+    /**
+     * 发送请求，失败时按故障转移策略重试，最终结果写入resultFuture
+     *
+     * @param failedAddresses 已失败的服务地址（各次请求依次执行，无需同步）
+     * @param timeoutMillis 调用的总超时时间
+     * @param deadline 调用的总截止时间（不限制超时时为0）
+     * @param retries 剩余的重试次数
+     */
+    private void sendWithFailover(MethodMeta methodMeta, RpcRequest request, String serviceAddress, Set<String> failedAddresses,
+                                  long timeoutMillis, long deadline, int retries, CompletableFuture<Object> resultFuture) {
+        FailoverPolicy failoverPolicy = methodMeta.failoverPolicy;
+        long attemptTimeout = failoverPolicy.getAttemptTimeout(timeoutMillis, deadline - System.currentTimeMillis());
+        sendFuture(methodMeta, request, serviceAddress, attemptTimeout).whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object value, Throwable e) {
+                if (e == null) {
+                    resultFuture.complete(value);
+                    return;
+                }
+                if (retries > 0 && failoverPolicy.isRetryable(e) && (deadline == 0 || deadline > System.currentTimeMillis())) {
+                    failedAddresses.add(serviceAddress);
+                    String retryAddress = ClientChannelCache.getInstance().getServiceAddress(methodMeta.serviceName, request, failedAddresses);
+                    if (RpcStringUtil.isNotEmpty(retryAddress) && FailoverPolicy.getBudget().tryAcquire()) {
+                        LOGGER.warn("请求服务提供者(" + serviceAddress + ")失败，转移至(" + retryAddress + ")重试：" + e.getMessage());
+                        failoverPolicy.recordRetry();
+                        sendWithFailover(methodMeta, request, retryAddress, failedAddresses, timeoutMillis, deadline, retries - 1, resultFuture);
+                        return;
+                    }
+                }
+                resultFuture.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * 同步等待结果：超时及连接异常抛出，与同步请求一致，服务内抛出的异常只记录日志
+     */
+    private static Object awaitResult(CompletableFuture<Object> resultFuture) throws InterruptedException {
+        try {
+            return resultFuture.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RpcTimeoutException || cause instanceof RpcConnectionException) {
+                throw (RuntimeException) cause;
+            }
+            LOGGER.error("服务内抛出异常", cause);
+            return null;
+        }
+    }
+
+    /**
+     * 向指定的服务地址发送FUTURE请求（收到响应后释放连接）
+     */
+    private CompletableFuture<Object> sendFuture(MethodMeta methodMeta, RpcRequest request, String serviceAddress, long timeoutMillis) {
+        Channel channel = null;
+        try {
+            channel = ClientChannelCache.getInstance().getChannel(serviceAddress);
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage());
+        }
+        if (channel == null) {
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RpcConnectionException("在RPC通道连接池中获取连接失败：" + serviceAddress));
+            return failed;
+        }
+        // 连接已完成握手时，使用协商的方法编号代替服务名与方法签名
+        request.setMethodId(ChannelMethodTable.getMethodId(channel, methodMeta.methodKey));
+        ClientChannelInboundHandler clientChannelInboundHandler = channel.pipeline().get(ClientChannelInboundHandler.class);
+        return clientChannelInboundHandler.sendRequest(channel, request, timeoutMillis).getResultFuture();
+    }
+
+    /**
+     * 构建RPC请求对象，并设置请求属性
+     */
+    static RpcRequest createRequest(MethodMeta methodMeta, String serviceVersion, RequestMode requestMode, Object[] args) {
+        RpcRequest request = new RpcRequest();
+        request.setRequestMode(requestMode);
+
+        request.setInterfaceName(methodMeta.interfaceName);
+        request.setServiceVersion(serviceVersion);
+        request.setMethodSignature(methodMeta.signature);
+        request.setParameterTypes(methodMeta.parameterTypes);
+        request.setCompression(methodMeta.compression);
+        // 请求参数按位置传递（参数类型已包含在方法签名中）
+        request.setArguments(args);
+        if (methodMeta.hashKeyIndex >= 0 && args[methodMeta.hashKeyIndex] != null) {
+            // 一致性哈希负载均衡的哈希键
+            request.setHashKey(String.valueOf(args[methodMeta.hashKeyIndex]));
+        }
+
+        // 获取Http请求对象
+        // String sessionId = RequestContextHolder.currentRequestAttributes().getSessionId();
+        HttpServletRequest httpServletRequest = null;
+        try {
+            httpServletRequest = ((ServletRequestAttributes)RequestContextHolder.getRequestAttributes()).getRequest();
+        } catch (Exception e) {
+            // 非HTTP环境的请求，无需处理
+        }
+        if (httpServletRequest != null) {
+            String ip = httpServletRequest.getRemoteAddr();// 获取请求IP
+            request.setRequestIp(ip);
+
+            String sessionId = httpServletRequest.getRequestedSessionId();// 获取请求会话
+            request.setRequestSessionId(sessionId);
+        }
+        return request;
+    }
+
+    private static void cacheOnComplete(CompletableFuture<Object> resultFuture, MethodResultCache resultCache, ArgumentsKey argumentsKey) {
+        resultFuture.thenAccept(new Consumer<Object>() {
+            @Override
+            public void accept(Object result) {
+                resultCache.put(argumentsKey, result);
+            }
+        });
+    }
+
+    private MethodMeta getMethodMeta(Method method) {
+        MethodMeta methodMeta = methodMetaCache.get(method);
+        if (methodMeta == null) {
+            methodMeta = new MethodMeta(method, serviceVersion);
+            methodMetaCache.put(method, methodMeta);
+        }
+        return methodMeta;
+    }
 }
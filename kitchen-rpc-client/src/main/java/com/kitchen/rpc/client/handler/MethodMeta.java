@@ -0,0 +1,85 @@
+package com.kitchen.rpc.client.handler;
+
+import com.kitchen.rpc.client.cache.MethodResultCache;
+import com.kitchen.rpc.client.cache.ResultCache;
+import com.kitchen.rpc.client.future.SingleFlightGroup;
+import com.kitchen.rpc.client.policy.FailoverPolicy;
+import com.kitchen.rpc.client.policy.HedgePolicy;
+import com.kitchen.rpc.client.thread.RequestTimeoutTimer;
+import com.kitchen.rpc.common.annotation.RpcHashKey;
+import com.kitchen.rpc.common.annotation.RpcTimeout;
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+import com.kitchen.rpc.common.util.RpcMethodUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 服务方法的请求元数据（服务名、方法签名、方法键只在首次调用时生成）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+final class MethodMeta {
+    final String interfaceName;
+    final String serviceName;
+    final String signature;
+    final String methodKey;
+    final Class<?>[] parameterTypes;
+    final CompressionPolicy compression;
+    final boolean returnFuture;
+    final long timeoutMillis;
+    /**
+     * 结果缓存（方法未标注@RpcCacheable时为null）
+     */
+    final MethodResultCache resultCache;
+    /**
+     * 进行中的调用（方法未标注@RpcSingleFlight时为null）
+     */
+    final SingleFlightGroup singleFlight;
+    /**
+     * 对冲策略（方法未标注@RpcHedged时为null）
+     */
+    final HedgePolicy hedgePolicy;
+    /**
+     * 故障转移策略（方法未标注@RpcFailover时为null）
+     */
+    final FailoverPolicy failoverPolicy;
+    /**
+     * 标注了@RpcHashKey的参数位置（未标注时为-1）
+     */
+    final int hashKeyIndex;
+
+    MethodMeta(Method method, String serviceVersion) {
+        this.interfaceName = method.getDeclaringClass().getName();
+        this.serviceName = RpcMethodUtil.getServiceName(interfaceName, serviceVersion);
+        this.signature = RpcMethodUtil.getSignature(method);
+        this.methodKey = RpcMethodUtil.getMethodKey(serviceName, signature);
+        this.parameterTypes = method.getParameterTypes();
+        this.compression = CompressionPolicy.of(method);
+        this.returnFuture = method.getReturnType() == CompletableFuture.class;
+        RpcTimeout timeout = method.getAnnotation(RpcTimeout.class);
+        if (timeout == null) {
+            timeout = method.getDeclaringClass().getAnnotation(RpcTimeout.class);
+        }
+        this.timeoutMillis = timeout != null ? timeout.value() : RequestTimeoutTimer.getDefaultTimeout();
+        this.resultCache = ResultCache.of(methodKey, method);
+        this.singleFlight = SingleFlightGroup.of(methodKey, method);
+        this.hedgePolicy = HedgePolicy.of(methodKey, method);
+        this.failoverPolicy = FailoverPolicy.of(methodKey, method);
+        this.hashKeyIndex = getHashKeyIndex(method);
+    }
+
+    private static int getHashKeyIndex(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RpcHashKey) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
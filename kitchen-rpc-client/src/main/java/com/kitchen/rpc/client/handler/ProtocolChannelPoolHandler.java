@@ -1,7 +1,10 @@
 package com.kitchen.rpc.client.handler;
 
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
+import com.kitchen.rpc.common.codec.frame.ProtocolFrameCodec;
 import com.kitchen.rpc.common.codec.protostuff.ProtocolDecoder;
 import com.kitchen.rpc.common.codec.protostuff.ProtocolEncoder;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.common.meta.RpcResponse;
 import io.netty.channel.Channel;
@@ -20,6 +23,14 @@ import org.slf4j.LoggerFactory;
 public class ProtocolChannelPoolHandler implements ChannelPoolHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolChannelPoolHandler.class);
 
+    private FrameFormat frameFormat;
+    private RpcSerializer serializer;
+
+    public ProtocolChannelPoolHandler(FrameFormat frameFormat, RpcSerializer serializer) {
+        this.frameFormat = frameFormat;
+        this.serializer = serializer;
+    }
+
     @Override
     public void channelReleased(Channel channel) throws Exception {
         LOGGER.debug("释放连接到连接池：" + channel.id());
@@ -32,14 +43,22 @@ public class ProtocolChannelPoolHandler implements ChannelPoolHandler {
 
     @Override
     public void channelCreated(Channel channel) throws Exception {
-        // 解码 RPC 响应
-        channel.pipeline().addLast(new ProtobufVarint32FrameDecoder());
-        channel.pipeline().addLast(new ProtocolDecoder(RpcResponse.class));
-        // 编码 RPC 请求
-        channel.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
-        channel.pipeline().addLast(new ProtocolEncoder(RpcRequest.class));
+        ClientChannelInboundHandler inboundHandler = new ClientChannelInboundHandler();
+        if (frameFormat == FrameFormat.VARINT_LENGTH) {
+            // 解码 RPC 响应
+            channel.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+            channel.pipeline().addLast(new ProtocolDecoder(RpcResponse.class));
+            // 编码 RPC 请求
+            channel.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+            channel.pipeline().addLast(new ProtocolEncoder(RpcRequest.class));
+        } else {
+            // 解码 RPC 响应（丢弃已超时请求的响应）、编码 RPC 请求
+            channel.pipeline().addLast(new ProtocolFrameCodec(inboundHandler));
+            // 连接建立后握手，协商方法编号及序列化器
+            channel.pipeline().addLast(new ClientHandshakeHandler(serializer));
+        }
         // 处理 RPC 响应
-        channel.pipeline().addLast(new ClientChannelInboundHandler());
+        channel.pipeline().addLast(inboundHandler);
 
         LOGGER.debug("创建新的连接通道：" + channel.id());
     }
@@ -0,0 +1,113 @@
+package com.kitchen.rpc.client.policy;
+
+import com.kitchen.rpc.common.annotation.RpcFailover;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.exception.RpcTimeoutException;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 服务方法的故障转移策略（最大重试次数及可重试的异常）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class FailoverPolicy {
+    /**
+     * 各服务方法的故障转移策略（方法键 -> 故障转移策略），同一方法（不同的代理实例）共享
+     */
+    private static Map<String, FailoverPolicy> policyMap = new ConcurrentHashMap<>();
+    /**
+     * 所有重试请求共享的预算（服务提供者大面积故障时，避免重试请求放大流量）
+     */
+    private static volatile RequestBudget budget = new RequestBudget(20, 10);
+
+    private final int retries;
+    private final boolean retryOnTimeout;
+    private final long attemptTimeout;
+
+    private final LongAdder retried = new LongAdder();
+
+    private FailoverPolicy(RpcFailover failover) {
+        this.retries = Math.max(0, failover.retries());
+        this.retryOnTimeout = failover.retryOnTimeout();
+        this.attemptTimeout = failover.attemptTimeout();
+    }
+
+    /**
+     * 获取服务方法的故障转移策略，方法未标注@RpcFailover时返回null
+     *
+     * @param methodKey 方法键（服务名#方法签名）
+     */
+    public static FailoverPolicy of(String methodKey, Method method) {
+        RpcFailover failover = method.getAnnotation(RpcFailover.class);
+        if (failover == null) {
+            return null;
+        }
+        return policyMap.computeIfAbsent(methodKey, key -> new FailoverPolicy(failover));
+    }
+
+    /**
+     * 设置重试预算（重试请求占@RpcFailover方法调用数的最大百分比）
+     */
+    public static void setBudgetPercent(int percent) {
+        budget = new RequestBudget(percent, 10);
+    }
+
+    public static RequestBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * 最大重试次数（不含首次请求）
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * 单次请求的超时时间（毫秒，不大于0时不限制）
+     *
+     * @param timeoutMillis 调用的总超时时间（不大于0时不限制）
+     * @param remaining 剩余的总超时时间（总超时时间不限制时忽略）
+     */
+    public long getAttemptTimeout(long timeoutMillis, long remaining) {
+        long attempt = attemptTimeout;
+        if (attempt <= 0 && retryOnTimeout && timeoutMillis > 0) {
+            // 为超时后的重试保留时间
+            attempt = Math.max(1L, timeoutMillis / (retries + 1));
+        }
+        if (timeoutMillis <= 0) {
+            return attempt;
+        }
+        return attempt > 0 ? Math.min(attempt, remaining) : remaining;
+    }
+
+    /**
+     * 请求失败的异常是否可以重试（连接异常，及按配置的超时异常）
+     */
+    public boolean isRetryable(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e instanceof RpcConnectionException || (retryOnTimeout && e instanceof RpcTimeoutException);
+    }
+
+    /**
+     * 记录一次发出的重试请求
+     */
+    public void recordRetry() {
+        retried.increment();
+    }
+
+    /**
+     * 已发出的重试请求数
+     */
+    public long getRetried() {
+        return retried.sum();
+    }
+}
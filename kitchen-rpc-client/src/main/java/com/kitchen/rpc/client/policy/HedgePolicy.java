@@ -0,0 +1,115 @@
+package com.kitchen.rpc.client.policy;
+
+import com.kitchen.rpc.common.annotation.RpcHedged;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 服务方法的对冲策略（对冲延迟及最近的响应时间样本）
+ * 按百分位数确定延迟时，每记录SAMPLE_INTERVAL个样本重新计算一次延迟，调用时只读取计算好的值
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class HedgePolicy {
+    /**
+     * 保留的响应时间样本数
+     */
+    private static final int SAMPLE_SIZE = 1024;
+    /**
+     * 重新计算延迟的样本间隔
+     */
+    private static final int SAMPLE_INTERVAL = 128;
+
+    /**
+     * 各服务方法的对冲策略（方法键 -> 对冲策略），同一方法（不同的代理实例）共享
+     */
+    private static Map<String, HedgePolicy> policyMap = new ConcurrentHashMap<>();
+    /**
+     * 所有对冲请求共享的预算
+     */
+    private static volatile RequestBudget budget = new RequestBudget(10, 10);
+
+    private final long minDelay;
+    private final double percentile;
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private volatile long delay;
+
+    private final LongAdder hedged = new LongAdder();
+
+    private HedgePolicy(RpcHedged hedged) {
+        this.minDelay = Math.max(1L, hedged.delay());
+        this.percentile = Math.min(100D, hedged.percentile());
+        this.delay = minDelay;
+    }
+
+    /**
+     * 获取服务方法的对冲策略，方法未标注@RpcHedged时返回null
+     *
+     * @param methodKey 方法键（服务名#方法签名）
+     */
+    public static HedgePolicy of(String methodKey, Method method) {
+        RpcHedged hedged = method.getAnnotation(RpcHedged.class);
+        if (hedged == null) {
+            return null;
+        }
+        return policyMap.computeIfAbsent(methodKey, key -> new HedgePolicy(hedged));
+    }
+
+    /**
+     * 设置对冲预算（对冲请求占对冲方法调用数的最大百分比）
+     */
+    public static void setBudgetPercent(int percent) {
+        budget = new RequestBudget(percent, 10);
+    }
+
+    public static RequestBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * 对冲延迟（毫秒）
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * 记录一次主请求（非对冲请求）的响应时间
+     * 样本数组的并发写入不加锁，偶尔覆盖的样本不影响百分位数的估计
+     */
+    public void recordLatency(long millis) {
+        if (percentile <= 0) {
+            return;
+        }
+        int count = sampleCount.incrementAndGet();
+        samples[(count - 1) & (SAMPLE_SIZE - 1)] = millis;
+        if ((count & (SAMPLE_INTERVAL - 1)) == 0) {
+            int size = count > 0 && count < SAMPLE_SIZE ? count : SAMPLE_SIZE;
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100D * size) - 1;
+            delay = Math.max(minDelay, sorted[Math.max(0, Math.min(size - 1, index))]);
+        }
+    }
+
+    /**
+     * 记录一次发出的对冲请求
+     */
+    public void recordHedge() {
+        hedged.increment();
+    }
+
+    /**
+     * 已发出的对冲请求数
+     */
+    public long getHedged() {
+        return hedged.sum();
+    }
+}
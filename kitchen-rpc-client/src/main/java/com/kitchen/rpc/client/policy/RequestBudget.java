@@ -0,0 +1,62 @@
+package com.kitchen.rpc.client.policy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 额外请求（对冲、重试）的预算（令牌桶）
+ * 每次调用存入percent/100个令牌，每个额外请求取出一个令牌，额外请求的数量因此不超过调用数的percent%；
+ * 令牌数有上限，空闲期间积累的令牌只允许短时的突发
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RequestBudget {
+    /**
+     * 一个令牌对应的计数（以千分之一令牌为单位计数，避免浮点运算）
+     */
+    private static final long TOKEN = 1000L;
+
+    private final long depositPerCall;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+
+    /**
+     * @param percent 额外请求占调用数的最大百分比
+     * @param maxBurst 最多积累的令牌数
+     */
+    public RequestBudget(int percent, int maxBurst) {
+        this.depositPerCall = TOKEN * Math.max(0, percent) / 100;
+        this.maxTokens = TOKEN * Math.max(1, maxBurst);
+        this.tokens = new AtomicLong(depositPerCall > 0 ? maxTokens : 0L);
+    }
+
+    /**
+     * 记录一次调用（存入令牌）
+     */
+    public void deposit() {
+        if (depositPerCall == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + depositPerCall)));
+    }
+
+    /**
+     * 尝试为一个额外请求取出令牌，预算不足时返回false
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kitchen.rpc.client.thread;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC客户端请求超时定时器
+ * 所有连接共享一个时间轮，登记和取消超时均为O(1)，不为每个请求创建调度任务
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RequestTimeoutTimer {
+    private static HashedWheelTimer timer = new HashedWheelTimer(
+            new DefaultThreadFactory("rpc-request-timeout", true), 10L, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * 默认超时时间（毫秒），服务接口及方法未标注@RpcTimeout时使用
+     */
+    private static long defaultTimeout = 30000L;
+
+    public static Timeout newTimeout(TimerTask task, long timeoutMillis) {
+        return timer.newTimeout(task, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static long getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public static void setDefaultTimeout(long defaultTimeout) {
+        RequestTimeoutTimer.defaultTimeout = defaultTimeout;
+    }
+
+    public static void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+}
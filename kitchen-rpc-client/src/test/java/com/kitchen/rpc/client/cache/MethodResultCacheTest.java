@@ -0,0 +1,71 @@
+package com.kitchen.rpc.client.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 方法结果缓存的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class MethodResultCacheTest {
+
+    @Test
+    public void testExpire() throws Exception {
+        MethodResultCache cache = new MethodResultCache(50L, 16);
+        ArgumentsKey key = ArgumentsKey.of(new Object[]{1, "kitchen"});
+        cache.put(key, "result");
+        assertEquals("result", cache.get(ArgumentsKey.of(new Object[]{1, "kitchen"})));
+
+        Thread.sleep(80L);
+        assertNull(cache.get(key));
+        ResultCacheStats stats = cache.getStats();
+        assertEquals(0, stats.getSize());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getExpirations());
+        assertEquals(0.5D, stats.getHitRate(), 0D);
+    }
+
+    @Test
+    public void testEvictEarliestExpiring() throws Exception {
+        // 条目数小于抽样数，所有条目都参与比较，淘汰的必定是最早写入（最早过期）的条目
+        MethodResultCache cache = new MethodResultCache(60000L, 4);
+        for (int i = 0; i < 5; i++) {
+            cache.put(ArgumentsKey.of(new Object[]{i}), i);
+            Thread.sleep(2L);
+        }
+        assertNull(cache.get(ArgumentsKey.of(new Object[]{0})));
+        for (int i = 1; i < 5; i++) {
+            assertEquals(i, cache.get(ArgumentsKey.of(new Object[]{i})));
+        }
+        ResultCacheStats stats = cache.getStats();
+        assertEquals(4, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        MethodResultCache cache = new MethodResultCache(60000L, 100);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(ArgumentsKey.of(new Object[]{i}), i);
+        }
+        ResultCacheStats stats = cache.getStats();
+        assertEquals(100, stats.getSize());
+        assertEquals(9900, stats.getEvictions());
+
+        // 淘汰游标在整个表中循环，最近写入的条目大多仍在缓存中
+        int recent = 0;
+        for (int i = 9900; i < 10000; i++) {
+            if (cache.get(ArgumentsKey.of(new Object[]{i})) != null) {
+                recent++;
+            }
+        }
+        assertTrue("recent=" + recent, recent > 30);
+
+        cache.put(ArgumentsKey.of(new Object[]{0}), null);
+        assertEquals(100, cache.getStats().getSize());
+    }
+}
@@ -0,0 +1,106 @@
+package com.kitchen.rpc.client.future;
+
+import com.kitchen.rpc.client.cache.ArgumentsKey;
+import com.kitchen.rpc.common.annotation.RpcSingleFlight;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 相同调用合并的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class SingleFlightGroupTest {
+
+    @Test
+    public void testCoalesce() throws Exception {
+        SingleFlightGroup group = SingleFlightGroup.of("SingleFlightGroupTest#coalesce()", FlightService.class.getMethod("coalesce"));
+        ArgumentsKey key = ArgumentsKey.of(new Object[]{1});
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        assertNull(group.join(key, leader));
+        // 进行中的相同调用等待第一个调用的结果，参数不同的调用不合并
+        assertSame(leader, group.join(ArgumentsKey.of(new Object[]{1}), new CompletableFuture<>()));
+        assertSame(leader, group.join(key, new CompletableFuture<>()));
+        assertNull(group.join(ArgumentsKey.of(new Object[]{2}), new CompletableFuture<>()));
+        assertEquals(2, group.getCoalesced());
+
+        group.complete(key, leader, "kitchen", null);
+        assertEquals("kitchen", leader.get());
+        // 完成后移除，之后的调用重新发送请求
+        assertNull(group.join(key, new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testFailurePropagation() throws Exception {
+        SingleFlightGroup group = SingleFlightGroup.of("SingleFlightGroupTest#failure()", FlightService.class.getMethod("failure"));
+        ArgumentsKey key = ArgumentsKey.of(new Object[]{"kitchen"});
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        assertNull(group.join(key, leader));
+        CompletableFuture<Object> follower = group.join(key, new CompletableFuture<>());
+
+        IllegalStateException failure = new IllegalStateException("failure");
+        group.complete(key, leader, null, failure);
+        try {
+            follower.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+        // 失败同样移除，之后的调用不会得到失败的结果
+        CompletableFuture<Object> retry = new CompletableFuture<>();
+        assertNull(group.join(key, retry));
+        group.complete(key, retry, "kitchen", null);
+    }
+
+    @Test
+    public void testConcurrentJoin() throws Exception {
+        SingleFlightGroup group = SingleFlightGroup.of("SingleFlightGroupTest#concurrent()", FlightService.class.getMethod("concurrent"));
+        ArgumentsKey key = ArgumentsKey.of(new Object[]{1});
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<Object>>> joins = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            joins.add(executor.submit(() -> {
+                start.await();
+                CompletableFuture<Object> flight = new CompletableFuture<>();
+                CompletableFuture<Object> existing = group.join(key, flight);
+                return existing != null ? existing : flight;
+            }));
+        }
+        start.countDown();
+
+        // 只有一个调用成为发送请求的调用，其它调用均得到同一个结果
+        CompletableFuture<Object> leader = joins.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<CompletableFuture<Object>> join : joins) {
+            assertSame(leader, join.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(threads - 1, group.getCoalesced());
+        group.complete(key, leader, "kitchen", null);
+        executor.shutdown();
+    }
+
+    private interface FlightService {
+        @RpcSingleFlight
+        String coalesce();
+
+        @RpcSingleFlight
+        String failure();
+
+        @RpcSingleFlight
+        String concurrent();
+    }
+}
@@ -0,0 +1,84 @@
+package com.kitchen.rpc.client.handler;
+
+import com.kitchen.rpc.client.cache.ClientChannelCache;
+import com.kitchen.rpc.common.annotation.RpcHashKey;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.registry.store.RpcServiceDiscovery;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * 批量调用按服务地址分组的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ClientBatchInvokerTest {
+
+    @After
+    public void tearDown() {
+        ClientChannelCache.setRpcServiceDiscovery(null);
+        ClientChannelCache.getInstance().stop();
+    }
+
+    @Test
+    public void testResolveAddressPerRequest() throws Exception {
+        // 两个哈希键对应不同的服务提供者（均为无法连接的地址，通过连接失败的信息确认请求所在的分组）
+        List<String> hashKeys = new ArrayList<>();
+        ClientChannelCache.setRpcServiceDiscovery(new RpcServiceDiscovery() {
+            @Override
+            public String discoverService(String serviceName, RpcRequest rpcRequest) {
+                hashKeys.add(rpcRequest.getHashKey());
+                return "a".equals(rpcRequest.getHashKey()) ? "127.0.0.1:1" : "127.0.0.1:2";
+            }
+
+            @Override
+            public String discoverService(String serviceName, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+                return null;
+            }
+
+            @Override
+            public void stop() {
+            }
+        });
+
+        ClientBatchInvoker invoker = new ClientBatchInvoker();
+        HashService service = (HashService) Proxy.newProxyInstance(HashService.class.getClassLoader(),
+                new Class<?>[]{HashService.class}, invoker.createRecorder(""));
+        service.get("a");
+        service.get("b");
+        service.get("a");
+        List<CompletableFuture<Object>> results = invoker.execute();
+
+        assertEquals(3, hashKeys.size());
+        assertEquals("127.0.0.1:1", failedAddress(results.get(0)));
+        assertEquals("127.0.0.1:2", failedAddress(results.get(1)));
+        assertEquals("127.0.0.1:1", failedAddress(results.get(2)));
+    }
+
+    private static String failedAddress(CompletableFuture<Object> result) throws InterruptedException {
+        try {
+            result.get();
+            fail();
+            return null;
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RpcConnectionException);
+            String message = e.getCause().getMessage();
+            return message.substring(message.indexOf('：') + 1);
+        }
+    }
+
+    private interface HashService {
+        String get(@RpcHashKey String key);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kitchen.rpc.client.policy;
+
+import com.kitchen.rpc.common.annotation.RpcFailover;
+import com.kitchen.rpc.common.exception.RpcConnectionException;
+import com.kitchen.rpc.common.exception.RpcTimeoutException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * 故障转移策略的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class FailoverPolicyTest {
+
+    @Test
+    public void testAttemptTimeout() throws Exception {
+        // 开启超时重试且未指定单次超时：总超时时间按请求次数平均分配，且不超过剩余时间
+        FailoverPolicy retryOnTimeout = policy("retryOnTimeout");
+        assertEquals(300L, retryOnTimeout.getAttemptTimeout(900L, 900L));
+        assertEquals(100L, retryOnTimeout.getAttemptTimeout(900L, 100L));
+        assertEquals(0L, retryOnTimeout.getAttemptTimeout(0L, 0L));
+
+        FailoverPolicy attemptTimeout = policy("attemptTimeout");
+        assertEquals(50L, attemptTimeout.getAttemptTimeout(900L, 900L));
+        assertEquals(20L, attemptTimeout.getAttemptTimeout(900L, 20L));
+        assertEquals(50L, attemptTimeout.getAttemptTimeout(0L, 0L));
+
+        // 超时不重试时，每次请求使用剩余的总超时时间
+        FailoverPolicy connectionOnly = policy("connectionOnly");
+        assertEquals(900L, connectionOnly.getAttemptTimeout(900L, 900L));
+        assertEquals(0L, connectionOnly.getAttemptTimeout(0L, 0L));
+    }
+
+    @Test
+    public void testRetryable() throws Exception {
+        RpcConnectionException connectionException = new RpcConnectionException("connection");
+        RpcTimeoutException timeoutException = new RpcTimeoutException("timeout");
+
+        FailoverPolicy connectionOnly = policy("connectionOnly");
+        assertTrue(connectionOnly.isRetryable(connectionException));
+        assertTrue(connectionOnly.isRetryable(new CompletionException(connectionException)));
+        assertFalse(connectionOnly.isRetryable(timeoutException));
+        assertFalse(connectionOnly.isRetryable(new IllegalStateException()));
+
+        assertTrue(policy("retryOnTimeout").isRetryable(timeoutException));
+    }
+
+    private static FailoverPolicy policy(String methodName) throws Exception {
+        return FailoverPolicy.of("FailoverPolicyTest#" + methodName + "()", FailoverService.class.getMethod(methodName));
+    }
+
+    private interface FailoverService {
+        @RpcFailover(retries = 2, retryOnTimeout = true)
+        String retryOnTimeout();
+
+        @RpcFailover(retries = 2, retryOnTimeout = true, attemptTimeout = 50L)
+        String attemptTimeout();
+
+        @RpcFailover
+        String connectionOnly();
+    }
+}
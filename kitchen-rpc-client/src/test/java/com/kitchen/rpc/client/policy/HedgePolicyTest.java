@@ -0,0 +1,55 @@
+package com.kitchen.rpc.client.policy;
+
+import com.kitchen.rpc.common.annotation.RpcHedged;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 对冲策略的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class HedgePolicyTest {
+
+    @Test
+    public void testPercentileDelay() throws Exception {
+        HedgePolicy policy = HedgePolicy.of("HedgePolicyTest#percentile()", HedgedService.class.getMethod("percentile"));
+        assertEquals(10L, policy.getDelay());
+
+        // 每记录128个样本重新计算一次延迟
+        for (int i = 1; i < 128; i++) {
+            policy.recordLatency(i);
+        }
+        assertEquals(10L, policy.getDelay());
+        policy.recordLatency(128);
+        assertEquals(64L, policy.getDelay());
+
+        // 不低于指定的延迟
+        for (int i = 0; i < 1024; i++) {
+            policy.recordLatency(1);
+        }
+        assertEquals(10L, policy.getDelay());
+    }
+
+    @Test
+    public void testFixedDelay() throws Exception {
+        HedgePolicy policy = HedgePolicy.of("HedgePolicyTest#fixed()", HedgedService.class.getMethod("fixed"));
+        for (int i = 0; i < 256; i++) {
+            policy.recordLatency(1000);
+        }
+        assertEquals(20L, policy.getDelay());
+        assertNull(HedgePolicy.of("HedgePolicyTest#plain()", HedgedService.class.getMethod("plain")));
+    }
+
+    private interface HedgedService {
+        @RpcHedged(delay = 10L, percentile = 50D)
+        String percentile();
+
+        @RpcHedged(delay = 20L)
+        String fixed();
+
+        String plain();
+    }
+}
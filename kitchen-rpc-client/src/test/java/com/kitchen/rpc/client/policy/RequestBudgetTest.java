@@ -0,0 +1,59 @@
+package com.kitchen.rpc.client.policy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 额外请求预算（令牌桶）的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class RequestBudgetTest {
+
+    @Test
+    public void testBurst() {
+        // 初始即有maxBurst个令牌，用完后不再允许额外请求
+        RequestBudget budget = new RequestBudget(10, 3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void testPercent() {
+        RequestBudget budget = new RequestBudget(10, 1);
+        assertTrue(budget.tryAcquire());
+
+        // 每次调用存入0.1个令牌：1000次调用最多允许100个额外请求
+        int acquired = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+            if (budget.tryAcquire()) {
+                acquired++;
+            }
+        }
+        assertEquals(100, acquired);
+    }
+
+    @Test
+    public void testMaxTokens() {
+        RequestBudget budget = new RequestBudget(50, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        // 空闲期间积累的令牌不超过上限
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void testZeroPercent() {
+        RequestBudget budget = new RequestBudget(0, 10);
+        budget.deposit();
+        assertFalse(budget.tryAcquire());
+    }
+}
@@ -13,5 +13,7 @@ public enum RequestMode {
     //异步（发送后请求后，不等待返回结果，直接回收连接，服务提供者也不会再回写响应结果至发送端）
     ASYNC,
     //异步（发送请求后，通过回调函数处理返回结果）
-    ASYNC_CALLBACK
+    ASYNC_CALLBACK,
+    //异步（服务方法的返回类型为CompletableFuture，发送请求后立即返回，收到响应后完成该Future）
+    FUTURE
 }
\ No newline at end of file
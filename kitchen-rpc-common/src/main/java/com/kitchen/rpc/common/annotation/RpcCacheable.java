@@ -0,0 +1,30 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC结果缓存注解（标注在幂等的RPC服务接口方法上）
+ * 客户端以“方法 + 序列化后的参数”为键缓存调用结果，有效期内相同参数的调用直接返回缓存的结果，不再发送请求
+ * 仅缓存同步调用及返回CompletableFuture的调用的正常结果（null及异常不缓存）；缓存的结果由调用方共享，不应修改
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcCacheable {
+    /**
+     * 缓存有效期（毫秒）
+     */
+    long ttl() default 60000L;
+
+    /**
+     * 最大缓存条目数，超出时淘汰最早过期的条目（只限制条目数，不计算结果占用的内存）
+     */
+    int maxEntries() default 1024;
+}
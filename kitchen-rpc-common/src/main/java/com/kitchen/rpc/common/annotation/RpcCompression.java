@@ -0,0 +1,32 @@
+package com.kitchen.rpc.common.annotation;
+
+import com.kitchen.rpc.common.codec.compress.CompressionType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC消息体压缩注解（标注在RPC服务接口或接口方法上，方法上的注解优先）
+ * 序列化后的请求（客户端）或响应（服务端）达到阈值时进行压缩，未达到阈值的消息不压缩
+ * 仅FIXED_HEADER帧格式支持
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcCompression {
+    /**
+     * 压缩算法
+     */
+    CompressionType type() default CompressionType.SNAPPY;
+
+    /**
+     * 压缩阈值（字节），序列化后的消息体不小于该值时才压缩
+     */
+    int threshold() default 64 * 1024;
+}
@@ -0,0 +1,36 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC故障转移注解（标注在幂等的RPC服务接口方法上）
+ * 获取连接失败、发送失败或连接断开时，在重试预算允许的情况下，向另一个服务提供者（排除已失败的全部地址）重新发送请求
+ * 服务内抛出的异常不重试；仅同步调用及返回CompletableFuture的调用支持，同时标注@RpcHedged时以对冲为准
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcFailover {
+    /**
+     * 最大重试次数（不含首次请求）
+     */
+    int retries() default 1;
+
+    /**
+     * 单次请求超时后是否重试（调用的超时时间作为全部请求的总截止时间）
+     */
+    boolean retryOnTimeout() default false;
+
+    /**
+     * 单次请求的超时时间（毫秒），不超过剩余的总超时时间
+     * 不大于0时：开启retryOnTimeout的方法按 总超时时间/(重试次数+1) 计算，未开启的方法使用剩余的总超时时间
+     */
+    long attemptTimeout() default 0L;
+}
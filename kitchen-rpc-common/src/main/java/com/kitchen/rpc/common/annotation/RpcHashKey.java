@@ -0,0 +1,21 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC哈希键注解（标注在RPC服务接口方法的一个参数上）
+ * 使用一致性哈希负载均衡时，以该参数（String.valueOf）作为哈希键，相同参数值的请求发送到同一个服务提供者；
+ * 未标注时按配置使用请求IP或请求会话
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcHashKey {
+}
@@ -0,0 +1,30 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC对冲请求注解（标注在幂等的RPC服务接口方法上）
+ * 请求发出后超过对冲延迟仍未收到响应时，向另一个服务提供者发送相同的请求，先到达的响应作为结果，另一个响应忽略
+ * 对冲请求受客户端对冲预算限制；仅同步调用及返回CompletableFuture的调用支持
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcHedged {
+    /**
+     * 对冲延迟（毫秒）；指定了percentile时，为响应时间样本不足时使用的延迟，同时也是延迟的下限
+     */
+    long delay() default 100L;
+
+    /**
+     * 按最近响应时间的百分位数确定对冲延迟（如99表示P99），不大于0时固定使用delay
+     */
+    double percentile() default 0D;
+}
@@ -0,0 +1,21 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC调用合并注解（标注在幂等的RPC服务接口方法上）
+ * 相同参数的调用正在进行时，新的调用不再发送请求，而是等待进行中的调用并共享其结果（或异常）
+ * 仅合并同步调用及返回CompletableFuture的调用
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcSingleFlight {
+}
@@ -0,0 +1,24 @@
+package com.kitchen.rpc.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * RPC请求超时注解（标注在RPC服务接口或接口方法上，方法上的注解优先）
+ * 未标注时使用客户端配置的默认超时时间
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RpcTimeout {
+    /**
+     * 超时时间（毫秒），不大于0时不限制
+     */
+    long value();
+}
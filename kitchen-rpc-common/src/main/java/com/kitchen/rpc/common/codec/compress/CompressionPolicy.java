@@ -0,0 +1,44 @@
+package com.kitchen.rpc.common.codec.compress;
+
+import com.kitchen.rpc.common.annotation.RpcCompression;
+
+import java.lang.reflect.Method;
+
+/**
+ * 服务方法的压缩策略（由RpcCompression注解生成）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public final class CompressionPolicy {
+    private final CompressionType type;
+    private final int threshold;
+
+    private CompressionPolicy(CompressionType type, int threshold) {
+        this.type = type;
+        this.threshold = threshold;
+    }
+
+    public CompressionType getType() {
+        return type;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 获取服务接口方法的压缩策略（方法上的注解优先于接口上的注解）
+     * 未配置压缩时返回null
+     */
+    public static CompressionPolicy of(Method method) {
+        RpcCompression compression = method.getAnnotation(RpcCompression.class);
+        if (compression == null) {
+            compression = method.getDeclaringClass().getAnnotation(RpcCompression.class);
+        }
+        if (compression == null || compression.type() == CompressionType.NONE) {
+            return null;
+        }
+        return new CompressionPolicy(compression.type(), compression.threshold());
+    }
+}
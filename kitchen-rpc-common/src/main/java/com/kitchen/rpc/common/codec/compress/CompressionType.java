@@ -0,0 +1,37 @@
+package com.kitchen.rpc.common.codec.compress;
+
+/**
+ * 消息体压缩算法
+ * 编码写入帧头标志位的低2位（0表示未压缩）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public enum CompressionType {
+    NONE((byte) 0),
+    SNAPPY((byte) 1);
+
+    private static final CompressionType[] VALUES = values();
+
+    private final byte code;
+
+    CompressionType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * 根据编码获取压缩算法，未知编码返回null
+     */
+    public static CompressionType valueOf(int code) {
+        for (CompressionType type : VALUES) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.kitchen.rpc.common.codec.compress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.compression.DecompressionException;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * 消息体压缩工具类
+ *
+ * Snappy：消息体按32KB分块压缩（Netty的Snappy实现单次最多处理64KB以内的数据），
+ * 压缩后的格式为若干个 [块长度(int) + Snappy块]
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class PayloadCompressor {
+    private static final int SNAPPY_BLOCK_SIZE = 32 * 1024;
+    // 单个块压缩后的最大长度（Snappy的MaxCompressedLength）
+    private static final int SNAPPY_MAX_COMPRESSED_BLOCK_SIZE = 32 + SNAPPY_BLOCK_SIZE + SNAPPY_BLOCK_SIZE / 6;
+
+    private PayloadCompressor() {
+    }
+
+    /**
+     * 压缩（读取src的全部可读字节，写入dst）
+     */
+    public static void compress(CompressionType type, ByteBuf src, ByteBuf dst) {
+        switch (type) {
+            case SNAPPY:
+                Snappy snappy = new Snappy();
+                while (src.isReadable()) {
+                    int length = Math.min(SNAPPY_BLOCK_SIZE, src.readableBytes());
+                    int lengthIndex = dst.writerIndex();
+                    dst.writeInt(0);
+                    snappy.encode(src.readSlice(length), dst, length);
+                    dst.setInt(lengthIndex, dst.writerIndex() - lengthIndex - 4);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的压缩算法：" + type);
+        }
+    }
+
+    /**
+     * 解压（读取src的全部可读字节，写入dst）
+     * 解码每个块之前先校验块长度及块头声明的解压后长度，避免按对端声明的长度分配过大的内存
+     *
+     * @param maxLength 解压后的最大长度，超出时抛出TooLongFrameException
+     */
+    public static void decompress(CompressionType type, ByteBuf src, ByteBuf dst, int maxLength) {
+        switch (type) {
+            case SNAPPY:
+                Snappy snappy = new Snappy();
+                while (src.isReadable()) {
+                    int length = src.readInt();
+                    if (length <= 0 || length > src.readableBytes() || length > SNAPPY_MAX_COMPRESSED_BLOCK_SIZE) {
+                        throw new DecompressionException("压缩块长度错误：" + length);
+                    }
+                    ByteBuf block = src.readSlice(length);
+                    int uncompressedLength = readPreamble(block);
+                    if (uncompressedLength > SNAPPY_BLOCK_SIZE) {
+                        throw new DecompressionException("压缩块解压后的长度错误：" + uncompressedLength);
+                    }
+                    if (uncompressedLength > maxLength - dst.readableBytes()) {
+                        throw new TooLongFrameException("解压后的消息体长度超出限制：" + (dst.readableBytes() + uncompressedLength));
+                    }
+                    int writerIndex = dst.writerIndex();
+                    snappy.decode(block, dst);
+                    snappy.reset();
+                    if (dst.writerIndex() - writerIndex != uncompressedLength) {
+                        throw new DecompressionException("压缩块解压后的长度与块头不一致：" + (dst.writerIndex() - writerIndex));
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的压缩算法：" + type);
+        }
+    }
+
+    /**
+     * 读取Snappy块头的varint（解压后的长度），不移动读索引
+     */
+    private static int readPreamble(ByteBuf block) {
+        int value = 0;
+        int readerIndex = block.readerIndex();
+        for (int i = 0; i < 5 && readerIndex + i < block.writerIndex(); i++) {
+            int b = block.getUnsignedByte(readerIndex + i);
+            value |= (b & 0x7f) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value < 0 ? Integer.MAX_VALUE : value;
+            }
+        }
+        throw new DecompressionException("压缩块头错误");
+    }
+}
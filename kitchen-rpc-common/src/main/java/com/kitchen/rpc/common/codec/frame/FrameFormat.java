@@ -0,0 +1,15 @@
+package com.kitchen.rpc.common.codec.frame;
+
+/**
+ * RPC通信的帧格式
+ * 服务提供者与服务消费者必须使用相同的帧格式
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public enum FrameFormat {
+    // 固定帧头（魔数、版本、标志位、消息类型、编解码器、请求ID、消息体长度），由一个编解码处理器完成
+    FIXED_HEADER,
+    // 旧格式：Varint32长度前缀 + 4字节长度 + 消息体，消息体为旧版本的请求、响应对象（仅用于升级过渡期间兼容旧版本）
+    VARINT_LENGTH
+}
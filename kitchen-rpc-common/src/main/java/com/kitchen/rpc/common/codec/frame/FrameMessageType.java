@@ -0,0 +1,65 @@
+package com.kitchen.rpc.common.codec.frame;
+
+import com.kitchen.rpc.common.meta.RpcBatchRequest;
+import com.kitchen.rpc.common.meta.RpcBatchResponse;
+import com.kitchen.rpc.common.meta.RpcHandshake;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+
+/**
+ * 帧中承载的消息类型
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public enum FrameMessageType {
+    REQUEST((byte) 1, RpcRequest.class),
+    RESPONSE((byte) 2, RpcResponse.class),
+    HANDSHAKE((byte) 3, RpcHandshake.class),
+    METHOD_TABLE((byte) 4, RpcMethodTable.class),
+    BATCH_REQUEST((byte) 5, RpcBatchRequest.class),
+    BATCH_RESPONSE((byte) 6, RpcBatchResponse.class);
+
+    private static final FrameMessageType[] VALUES = values();
+
+    private final byte code;
+    private final Class<?> messageClass;
+
+    FrameMessageType(byte code, Class<?> messageClass) {
+        this.code = code;
+        this.messageClass = messageClass;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public Class<?> getMessageClass() {
+        return messageClass;
+    }
+
+    /**
+     * 根据类型编码获取消息类型，未知编码返回null
+     */
+    public static FrameMessageType valueOf(byte code) {
+        for (FrameMessageType type : VALUES) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据消息对象获取消息类型，不支持的消息返回null
+     */
+    public static FrameMessageType of(Object message) {
+        for (FrameMessageType type : VALUES) {
+            if (type.messageClass.isInstance(message)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.kitchen.rpc.common.codec.frame;
+
+/**
+ * 等待响应的请求过滤器（客户端）
+ * 解码器在反序列化响应前按帧头中的请求ID查询，已超时（不再等待）的响应直接跳过消息体，不做解压与反序列化
+ * 与解码器在同一个EventLoop中调用
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public interface PendingRequestFilter {
+    /**
+     * 请求是否仍在等待响应
+     */
+    boolean isPending(long requestId);
+}
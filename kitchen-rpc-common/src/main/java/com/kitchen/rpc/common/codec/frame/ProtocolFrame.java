@@ -0,0 +1,37 @@
+package com.kitchen.rpc.common.codec.frame;
+
+/**
+ * 固定帧头的格式定义（大端字节序，共18字节）
+ *
+ * <pre>
+ * 0       2         3       4              5          6            14            18
+ * +-------+---------+-------+--------------+----------+------------+-------------+------------
+ * | magic | version | flags | message type | codec id | request id | body length | body ...
+ * +-------+---------+-------+--------------+----------+------------+-------------+------------
+ *   short    byte     byte       byte          byte       long          int
+ * </pre>
+ * codec id为消息体所用序列化器的编号（RpcSerializer.getId()）
+ * flags的低2位为消息体的压缩算法（CompressionType.getCode()，0表示未压缩），body length为压缩后的长度
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolFrame {
+    // 魔数："KR"
+    public static final short MAGIC = 0x4B52;
+    // 协议版本
+    public static final byte VERSION = 1;
+    // 帧头长度
+    public static final int HEADER_LENGTH = 18;
+    // 标志位的偏移量
+    public static final int FLAGS_OFFSET = 3;
+    // 标志位中压缩算法的掩码
+    public static final int FLAG_COMPRESSION_MASK = 0x03;
+    // 消息体长度的偏移量
+    public static final int BODY_LENGTH_OFFSET = 14;
+    // 消息体的最大长度
+    public static final int MAX_BODY_LENGTH = 64 * 1024 * 1024;
+
+    private ProtocolFrame() {
+    }
+}
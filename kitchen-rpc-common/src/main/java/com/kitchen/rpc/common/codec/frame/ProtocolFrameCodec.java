@@ -0,0 +1,24 @@
+package com.kitchen.rpc.common.codec.frame;
+
+import io.netty.channel.CombinedChannelDuplexHandler;
+
+/**
+ * 固定帧头的编解码处理器
+ * 替代“ProtobufVarint32FrameDecoder + ProtocolDecoder”和“ProtobufVarint32LengthFieldPrepender + ProtocolEncoder”，每个帧只有一次长度前缀，只经过一个处理器
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolFrameCodec extends CombinedChannelDuplexHandler<ProtocolFrameDecoder, ProtocolFrameEncoder> {
+
+    public ProtocolFrameCodec() {
+        super(new ProtocolFrameDecoder(), new ProtocolFrameEncoder());
+    }
+
+    /**
+     * 客户端使用，解码时丢弃已不再等待的响应
+     */
+    public ProtocolFrameCodec(PendingRequestFilter pendingFilter) {
+        super(new ProtocolFrameDecoder(pendingFilter), new ProtocolFrameEncoder());
+    }
+}
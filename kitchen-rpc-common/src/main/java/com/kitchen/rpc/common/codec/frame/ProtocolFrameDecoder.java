@@ -0,0 +1,120 @@
+package com.kitchen.rpc.common.codec.frame;
+
+import com.kitchen.rpc.common.codec.compress.CompressionType;
+import com.kitchen.rpc.common.codec.compress.PayloadCompressor;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
+import com.kitchen.rpc.common.meta.RpcMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+/**
+ * 固定帧头的解码器
+ * 校验帧头后直接从ByteBuf中反序列化消息体
+ * 帧头中的序列化器编号须与连接通道协商的结果一致：握手完成前只接受默认序列化器，
+ * 握手完成后对端切换前发出的帧仍可使用默认序列化器，收到协商序列化器的帧之后只接受协商的序列化器
+ * 压缩过的消息体先解压至临时缓冲区再反序列化
+ * 指定了等待响应的请求过滤器时（客户端），已不再等待的响应直接跳过
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolFrameDecoder extends ByteToMessageDecoder {
+
+    private final PendingRequestFilter pendingFilter;
+
+    // 对端是否已切换至协商的序列化器
+    private boolean switched;
+
+    public ProtocolFrameDecoder() {
+        this(null);
+    }
+
+    public ProtocolFrameDecoder(PendingRequestFilter pendingFilter) {
+        this.pendingFilter = pendingFilter;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (in.readableBytes() < ProtocolFrame.HEADER_LENGTH) {
+            return;
+        }
+        int headerIndex = in.readerIndex();
+        if (in.getShort(headerIndex) != ProtocolFrame.MAGIC) {
+            throw new CorruptedFrameException("帧头魔数错误");
+        }
+        int bodyLength = in.getInt(headerIndex + ProtocolFrame.BODY_LENGTH_OFFSET);
+        if (bodyLength < 0 || bodyLength > ProtocolFrame.MAX_BODY_LENGTH) {
+            throw new TooLongFrameException("消息体长度超出限制：" + bodyLength);
+        }
+        if (in.readableBytes() < ProtocolFrame.HEADER_LENGTH + bodyLength) {
+            return;
+        }
+
+        in.skipBytes(2);
+        byte version = in.readByte();
+        if (version != ProtocolFrame.VERSION) {
+            throw new CorruptedFrameException("不支持的协议版本：" + version);
+        }
+        byte flags = in.readByte();
+        byte typeCode = in.readByte();
+        byte codecId = in.readByte();
+        long requestId = in.readLong();
+        in.readInt();// 消息体长度
+
+        FrameMessageType messageType = FrameMessageType.valueOf(typeCode);
+        if (messageType == null) {
+            throw new CorruptedFrameException("未知的消息类型：" + typeCode);
+        }
+        RpcSerializer serializer = checkSerializer(ctx, codecId);
+        if (messageType == FrameMessageType.RESPONSE && pendingFilter != null && !pendingFilter.isPending(requestId)) {
+            // 请求已超时，丢弃迟到的响应
+            in.skipBytes(bodyLength);
+            return;
+        }
+        int compressionCode = flags & ProtocolFrame.FLAG_COMPRESSION_MASK;
+        Object message;
+        if (compressionCode == 0) {
+            message = serializer.deserialize(in, bodyLength, messageType.getMessageClass());
+        } else {
+            CompressionType compressionType = CompressionType.valueOf(compressionCode);
+            if (compressionType == null) {
+                throw new CorruptedFrameException("未知的压缩算法：" + compressionCode);
+            }
+            ByteBuf body = ctx.alloc().buffer(Math.min(bodyLength * 2, ProtocolFrame.MAX_BODY_LENGTH), ProtocolFrame.MAX_BODY_LENGTH);
+            try {
+                PayloadCompressor.decompress(compressionType, in.readSlice(bodyLength), body, ProtocolFrame.MAX_BODY_LENGTH);
+                message = serializer.deserialize(body, body.readableBytes(), messageType.getMessageClass());
+            } finally {
+                body.release();
+            }
+        }
+        if (message instanceof RpcMessage) {
+            ((RpcMessage) message).setRequestId(requestId);
+        }
+        out.add(message);
+    }
+
+    /**
+     * 校验帧头中的序列化器编号，返回用于反序列化的序列化器
+     */
+    private RpcSerializer checkSerializer(ChannelHandlerContext ctx, byte codecId) {
+        RpcSerializer negotiated = SerializerCache.get(ctx.channel());
+        RpcSerializer defaultSerializer = SerializerCache.getDefault();
+        if (codecId == negotiated.getId()) {
+            if (negotiated.getId() != defaultSerializer.getId()) {
+                switched = true;
+            }
+            return negotiated;
+        }
+        if (codecId == defaultSerializer.getId() && !switched) {
+            return defaultSerializer;
+        }
+        throw new CorruptedFrameException("序列化器与协商结果不一致：" + codecId);
+    }
+}
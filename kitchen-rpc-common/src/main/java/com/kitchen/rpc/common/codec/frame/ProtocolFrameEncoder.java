@@ -0,0 +1,82 @@
+package com.kitchen.rpc.common.codec.frame;
+
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+import com.kitchen.rpc.common.codec.compress.PayloadCompressor;
+import com.kitchen.rpc.common.codec.protostuff.ProtocolSizeHint;
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
+import com.kitchen.rpc.common.meta.RpcMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * 固定帧头的编码器
+ * 一次写入帧头和消息体（消息体直接序列化至输出缓冲区，完成后回填长度）
+ * 消息体使用连接通道协商的序列化器；配置了压缩策略且达到阈值的消息体压缩后写入（压缩无收益时保持原样）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolFrameEncoder extends MessageToByteEncoder<Object> {
+
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return FrameMessageType.of(msg) != null;
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+        int initialCapacity = ProtocolFrame.HEADER_LENGTH + ProtocolSizeHint.get(msg.getClass());
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(initialCapacity);
+        } else {
+            return ctx.alloc().heapBuffer(initialCapacity);
+        }
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+        FrameMessageType messageType = FrameMessageType.of(msg);
+        RpcSerializer serializer = SerializerCache.get(ctx.channel());
+
+        int headerIndex = out.writerIndex();
+        out.writeShort(ProtocolFrame.MAGIC);
+        out.writeByte(ProtocolFrame.VERSION);
+        out.writeByte(0);
+        out.writeByte(messageType.getCode());
+        out.writeByte(serializer.getId());
+        out.writeLong(msg instanceof RpcMessage ? ((RpcMessage) msg).getRequestId() : 0L);
+        out.writeInt(0);
+
+        int bodyLength = serializer.serialize(msg, out);
+        ProtocolSizeHint.record(msg.getClass(), bodyLength);
+
+        CompressionPolicy compression = msg instanceof RpcMessage ? ((RpcMessage) msg).getCompression() : null;
+        if (compression != null && bodyLength >= compression.getThreshold()) {
+            bodyLength = compress(ctx, out, headerIndex, bodyLength, compression);
+        }
+        out.setInt(headerIndex + ProtocolFrame.BODY_LENGTH_OFFSET, bodyLength);
+    }
+
+    /**
+     * 压缩消息体，返回写入的消息体长度
+     */
+    private int compress(ChannelHandlerContext ctx, ByteBuf out, int headerIndex, int bodyLength, CompressionPolicy compression) {
+        int bodyIndex = headerIndex + ProtocolFrame.HEADER_LENGTH;
+        ByteBuf compressed = ctx.alloc().buffer(bodyLength / 2);
+        try {
+            PayloadCompressor.compress(compression.getType(), out.slice(bodyIndex, bodyLength), compressed);
+            int compressedLength = compressed.readableBytes();
+            if (compressedLength >= bodyLength) {
+                return bodyLength;
+            }
+            out.writerIndex(bodyIndex);
+            out.writeBytes(compressed);
+            out.setByte(headerIndex + ProtocolFrame.FLAGS_OFFSET, compression.getType().getCode());
+            return compressedLength;
+        } finally {
+            compressed.release();
+        }
+    }
+}
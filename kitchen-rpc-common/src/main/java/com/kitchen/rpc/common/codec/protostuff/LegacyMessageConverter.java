@@ -0,0 +1,108 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+
+import java.util.HashMap;
+
+/**
+ * 新旧版本消息对象的转换（VARINT_LENGTH帧格式使用）
+ * 旧版本以方法名+参数类型表示方法、以字符串作为请求ID；新版本以方法签名表示方法、以数字作为请求ID
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+final class LegacyMessageConverter {
+
+    private LegacyMessageConverter() {
+    }
+
+    /**
+     * 客户端：请求转换为旧版本格式（数字请求ID以字符串形式发送，旧版本服务端原样返回）
+     */
+    static LegacyRpcRequest toLegacy(RpcRequest request) {
+        Class<?>[] parameterTypes = request.getParameterTypes();
+        if (parameterTypes == null) {
+            throw new IllegalStateException("VARINT_LENGTH帧格式的请求缺少参数类型：" + request.getMethodSignature());
+        }
+        LegacyRpcRequest legacy = new LegacyRpcRequest();
+        legacy.requestId = Long.toString(request.getRequestId());
+        legacy.interfaceName = request.getInterfaceName();
+        legacy.serviceVersion = request.getServiceVersion();
+        String signature = request.getMethodSignature();
+        legacy.methodName = signature.substring(0, signature.indexOf('('));
+        Object[] arguments = request.getArguments();
+        legacy.parameters = new HashMap<>();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            LegacyRpcRequestParam param = new LegacyRpcRequestParam();
+            param.paramType = parameterTypes[i];
+            param.paramValue = arguments != null ? arguments[i] : null;
+            legacy.parameters.put(i, param);
+        }
+        // 旧版本没有FUTURE类型（按序号读取枚举会越界），以同样需要回写响应的ASYNC_CALLBACK发送
+        legacy.requestMode = request.getRequestMode() == RequestMode.FUTURE ? RequestMode.ASYNC_CALLBACK : request.getRequestMode();
+        legacy.requestIp = request.getRequestIp();
+        legacy.requestSessionId = request.getRequestSessionId();
+        return legacy;
+    }
+
+    /**
+     * 服务端：旧版本格式的请求转换为新版本请求，原始请求ID登记到对照表中
+     */
+    static RpcRequest fromLegacy(LegacyRpcRequest legacy, LegacyRequestTable requestTable) {
+        RpcRequest request = new RpcRequest();
+        request.setRequestId(requestTable.register(legacy.requestId, legacy.requestMode));
+        request.setInterfaceName(legacy.interfaceName);
+        request.setServiceVersion(legacy.serviceVersion);
+        int count = legacy.parameters != null ? legacy.parameters.size() : 0;
+        Object[] arguments = new Object[count];
+        StringBuilder signature = new StringBuilder(String.valueOf(legacy.methodName)).append('(');
+        for (int i = 0; i < count; i++) {
+            LegacyRpcRequestParam param = legacy.parameters.get(i);
+            if (param == null || param.paramType == null) {
+                throw new IllegalStateException("旧版本请求的参数不完整：" + legacy.interfaceName + "#" + legacy.methodName);
+            }
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(param.paramType.getName());
+            arguments[i] = param.paramValue;
+        }
+        request.setMethodSignature(signature.append(')').toString());
+        request.setArguments(arguments);
+        request.setRequestMode(legacy.requestMode);
+        request.setRequestIp(legacy.requestIp);
+        request.setRequestSessionId(legacy.requestSessionId);
+        return request;
+    }
+
+    /**
+     * 服务端：响应转换为旧版本格式，按对照表还原原始请求ID及请求类型
+     */
+    static LegacyRpcResponse toLegacy(RpcResponse response, LegacyRequestTable requestTable) {
+        LegacyRpcResponse legacy = requestTable != null ? requestTable.remove(response.getRequestId()) : null;
+        if (legacy == null) {
+            legacy = new LegacyRpcResponse();
+        }
+        legacy.exception = (Exception) response.getException();
+        legacy.result = response.getResult();
+        return legacy;
+    }
+
+    /**
+     * 客户端：旧版本格式的响应转换为新版本响应（请求ID由客户端发出，必为数字）
+     */
+    static RpcResponse fromLegacy(LegacyRpcResponse legacy) {
+        RpcResponse response = new RpcResponse();
+        try {
+            response.setRequestId(legacy.requestId != null ? Long.parseLong(legacy.requestId) : 0L);
+        } catch (NumberFormatException e) {
+            // 不是本客户端发出的请求ID，按未登记的请求丢弃
+            response.setRequestId(0L);
+        }
+        response.setException(legacy.exception);
+        response.setResult(legacy.result);
+        return response;
+    }
+}
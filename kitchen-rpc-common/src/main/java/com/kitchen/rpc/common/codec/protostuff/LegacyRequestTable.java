@@ -0,0 +1,40 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.RequestMode;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+
+/**
+ * 服务端VARINT_LENGTH连接的请求ID对照表（每个连接一份，由解码器与编码器共享）
+ * 旧版本的客户端以字符串作为请求ID，并按响应中的请求类型分发响应；
+ * 解码请求时为其分配连接内递增的数字ID，编码响应时按数字ID还原原始的请求ID及请求类型
+ * 编解码均在连接所属的EventLoop中执行，无需加锁
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public final class LegacyRequestTable {
+    private final LongObjectMap<LegacyRpcResponse> pendingList = new LongObjectHashMap<>();
+    private long lastRequestId;
+
+    /**
+     * 登记请求，返回分配的数字ID（单向请求无响应，不登记）
+     */
+    long register(String requestId, RequestMode requestMode) {
+        long id = ++lastRequestId;
+        if (requestMode != RequestMode.ASYNC) {
+            LegacyRpcResponse response = new LegacyRpcResponse();
+            response.requestId = requestId;
+            response.requestMode = requestMode;
+            pendingList.put(id, response);
+        }
+        return id;
+    }
+
+    /**
+     * 移除请求，返回只填写了原始请求ID及请求类型的响应（未登记时返回null）
+     */
+    LegacyRpcResponse remove(long id) {
+        return pendingList.remove(id);
+    }
+}
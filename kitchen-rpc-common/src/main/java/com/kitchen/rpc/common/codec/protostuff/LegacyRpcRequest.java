@@ -0,0 +1,23 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.RequestMode;
+
+import java.util.HashMap;
+
+/**
+ * 旧版本的RPC请求对象（VARINT_LENGTH帧格式使用）
+ * 字段的类型及声明顺序与旧版本的RpcRequest完全一致（RuntimeSchema按声明顺序编号），序列化结果与旧版本逐字节相同，不可修改
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+final class LegacyRpcRequest {
+    String requestId;
+    String interfaceName;
+    String serviceVersion;
+    String methodName;
+    HashMap<Integer, LegacyRpcRequestParam> parameters;
+    RequestMode requestMode;
+    String requestIp;
+    String requestSessionId;
+}
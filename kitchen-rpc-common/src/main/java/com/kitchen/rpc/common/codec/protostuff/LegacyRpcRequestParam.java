@@ -0,0 +1,12 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+/**
+ * 旧版本的RPC请求参数（VARINT_LENGTH帧格式使用），字段与旧版本的RpcRequestParam完全一致，不可修改
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+final class LegacyRpcRequestParam {
+    Class<?> paramType;
+    Object paramValue;
+}
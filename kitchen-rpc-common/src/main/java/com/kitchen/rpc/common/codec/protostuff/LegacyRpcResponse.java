@@ -0,0 +1,16 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.RequestMode;
+
+/**
+ * 旧版本的RPC响应对象（VARINT_LENGTH帧格式使用），字段与旧版本的RpcResponse完全一致，不可修改
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+final class LegacyRpcResponse {
+    String requestId;
+    RequestMode requestMode;
+    Exception exception;
+    Object result;
+}
@@ -1,5 +1,7 @@
 package com.kitchen.rpc.common.codec.protostuff;
 
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -7,18 +9,28 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 import java.util.List;
 
 /**
- * RPC 解码器
+ * RPC 解码器（VARINT_LENGTH帧格式）
+ * 格式：消息体长度(int) + 消息体，与旧版本逐字节兼容：消息体按旧版本的消息对象反序列化后转换为新版本的消息对象
  *
  * @date 2016-12-02
  * @author 赵梓彧 - kitchen_dev@163.com
  */
 public class ProtocolDecoder extends ByteToMessageDecoder {
     private Class<?> genericClass;
+    /**
+     * 服务端的请求ID对照表（与同一连接的编码器共享，客户端为null）
+     */
+    private LegacyRequestTable requestTable;
 
     public ProtocolDecoder(Class<?> genericClass) {
         this.genericClass = genericClass;
     }
 
+    public ProtocolDecoder(Class<?> genericClass, LegacyRequestTable requestTable) {
+        this.genericClass = genericClass;
+        this.requestTable = requestTable;
+    }
+
     @Override
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf in, List<Object> out) throws Exception {
         if (in.readableBytes() < 4) {
@@ -30,8 +42,15 @@ public class ProtocolDecoder extends ByteToMessageDecoder {
             in.resetReaderIndex();
             return;
         }
-        byte[] data = new byte[dataLength];
-        in.readBytes(data);
-        out.add(ProtocolUtil.deserialize(data, genericClass));
+        // 直接从ByteBuf中反序列化，不再复制为字节数组
+        if (genericClass == RpcRequest.class) {
+            LegacyRpcRequest legacy = ProtocolUtil.deserialize(in, dataLength, LegacyRpcRequest.class);
+            out.add(LegacyMessageConverter.fromLegacy(legacy, requestTable));
+        } else if (genericClass == RpcResponse.class) {
+            LegacyRpcResponse legacy = ProtocolUtil.deserialize(in, dataLength, LegacyRpcResponse.class);
+            out.add(LegacyMessageConverter.fromLegacy(legacy));
+        } else {
+            out.add(ProtocolUtil.deserialize(in, dataLength, genericClass));
+        }
     }
 }
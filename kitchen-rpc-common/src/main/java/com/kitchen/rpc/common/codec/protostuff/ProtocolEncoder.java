@@ -1,28 +1,62 @@
 package com.kitchen.rpc.common.codec.protostuff;
 
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 /**
- * RPC 编码器
+ * RPC 编码器（VARINT_LENGTH帧格式）
+ * 格式：消息体长度(int) + 消息体，与旧版本逐字节兼容：消息体按旧版本的消息对象序列化，请求ID以字符串形式写在消息体中
  *
  * @date 2016-12-02
  * @author 赵梓彧 - kitchen_dev@163.com
  */
 public class ProtocolEncoder extends MessageToByteEncoder<Object> {
     private Class<?> genericClass;
+    /**
+     * 服务端的请求ID对照表（与同一连接的解码器共享，客户端为null）
+     */
+    private LegacyRequestTable requestTable;
 
     public ProtocolEncoder(Class<?> genericClass) {
         this.genericClass = genericClass;
     }
 
+    public ProtocolEncoder(Class<?> genericClass, LegacyRequestTable requestTable) {
+        this.genericClass = genericClass;
+        this.requestTable = requestTable;
+    }
+
+    /**
+     * 按照同类消息以往的编码长度分配输出缓冲区，避免写入过程中扩容
+     */
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+        int initialCapacity = 4 + ProtocolSizeHint.get(msg.getClass());
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(initialCapacity);
+        } else {
+            return ctx.alloc().heapBuffer(initialCapacity);
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, Object in, ByteBuf out) throws Exception {
         if (genericClass.isInstance(in)) {
-            byte[] data = ProtocolUtil.serialize(in);
-            out.writeInt(data.length);
-            out.writeBytes(data);
+            Object message = in;
+            if (in instanceof RpcRequest) {
+                message = LegacyMessageConverter.toLegacy((RpcRequest) in);
+            } else if (in instanceof RpcResponse) {
+                message = LegacyMessageConverter.toLegacy((RpcResponse) in, requestTable);
+            }
+            // 预留长度字段，序列化结果直接写入输出缓冲区后再回填长度
+            int lengthIndex = out.writerIndex();
+            out.writeInt(0);
+            int dataLength = ProtocolUtil.serialize(message, out);
+            out.setInt(lengthIndex, dataLength);
+            ProtocolSizeHint.record(in.getClass(), dataLength);
         }
     }
 }
@@ -0,0 +1,112 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.meta.RpcHandshake;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 序列化结构预热
+ * 启动时遍历服务接口全部方法的参数类型、返回类型（包括泛型参数、数组元素及对象中的嵌套字段类型），
+ * 预先生成并缓存Protostuff的序列化结构，避免首个请求承担生成序列化结构的开销
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolSchemaWarmup {
+    /**
+     * 已预热的类型（包括服务接口）
+     */
+    private static Set<Class<?>> warmedTypes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private ProtocolSchemaWarmup() {
+    }
+
+    /**
+     * 预热服务接口的序列化结构
+     *
+     * @param interfaceClass 服务接口
+     * @return 本次新生成的序列化结构数量（接口已预热过时返回0）
+     */
+    public static int warmUp(Class<?> interfaceClass) {
+        if (!warmedTypes.add(interfaceClass)) {
+            return 0;
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        // 框架自身的消息类型
+        walk(RpcRequest.class, visited);
+        walk(RpcResponse.class, visited);
+        walk(RpcHandshake.class, visited);
+        walk(RpcMethodTable.class, visited);
+        for (Method method : interfaceClass.getMethods()) {
+            for (Type parameterType : method.getGenericParameterTypes()) {
+                walk(parameterType, visited);
+            }
+            walk(method.getGenericReturnType(), visited);
+        }
+
+        int count = 0;
+        for (Class<?> cls : visited) {
+            if (warmedTypes.add(cls)) {
+                ProtocolUtil.getSchema(cls);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void walk(Type type, Set<Class<?>> visited) {
+        if (type instanceof Class) {
+            Class<?> cls = (Class<?>) type;
+            if (cls.isArray()) {
+                walk(cls.getComponentType(), visited);
+            } else if (needSchema(cls) && visited.add(cls)) {
+                // 对象中的嵌套字段（包括父类字段）
+                for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                            walk(field.getGenericType(), visited);
+                        }
+                    }
+                }
+            }
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            walk(parameterizedType.getRawType(), visited);
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                walk(argument, visited);
+            }
+        } else if (type instanceof GenericArrayType) {
+            walk(((GenericArrayType) type).getGenericComponentType(), visited);
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                walk(bound, visited);
+            }
+        }
+    }
+
+    /**
+     * 是否需要生成序列化结构
+     * 基本类型、JDK类型（字符串、包装类、集合等由Protostuff内置处理）、枚举、接口及抽象类无需生成
+     */
+    private static boolean needSchema(Class<?> cls) {
+        if (cls.isPrimitive() || cls.isEnum() || cls.isInterface() || Modifier.isAbstract(cls.getModifiers())) {
+            return false;
+        }
+        String name = cls.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+}
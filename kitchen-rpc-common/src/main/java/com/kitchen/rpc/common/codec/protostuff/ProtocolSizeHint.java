@@ -0,0 +1,51 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+/**
+ * 消息编码长度的预估
+ * 按消息类型记录编码后的长度（指数移动平均），用于编码前分配大小合适的输出缓冲区
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolSizeHint {
+    // 预估长度的下限和上限（超过上限的消息由ByteBuf自动扩容）
+    private static final int MIN_HINT = 64;
+    private static final int MAX_HINT = 1024 * 1024;
+
+    private static final ClassValue<Hint> HINTS = new ClassValue<Hint>() {
+        @Override
+        protected Hint computeValue(Class<?> type) {
+            return new Hint();
+        }
+    };
+
+    private ProtocolSizeHint() {
+    }
+
+    /**
+     * 获取消息类型的预估编码长度
+     */
+    public static int get(Class<?> cls) {
+        return HINTS.get(cls).size;
+    }
+
+    /**
+     * 记录一次实际的编码长度
+     * 变大时立即跟随，变小时缓慢回落（权重1/8），允许多线程下的非精确更新
+     */
+    public static void record(Class<?> cls, int length) {
+        Hint hint = HINTS.get(cls);
+        int current = hint.size;
+        int next;
+        if (length >= current) {
+            next = length + (length >>> 3);
+        } else {
+            next = current - ((current - length) >>> 3);
+        }
+        hint.size = Math.max(MIN_HINT, Math.min(MAX_HINT, next));
+    }
+
+    private static final class Hint {
+        volatile int size = MIN_HINT;
+    }
+}
@@ -4,6 +4,11 @@ import com.dyuproject.protostuff.LinkedBuffer;
 import com.dyuproject.protostuff.ProtostuffIOUtil;
 import com.dyuproject.protostuff.Schema;
 import com.dyuproject.protostuff.runtime.RuntimeSchema;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.util.concurrent.FastThreadLocal;
 import org.springframework.objenesis.Objenesis;
 import org.springframework.objenesis.ObjenesisStd;
 
@@ -21,6 +26,37 @@ public class ProtocolUtil {
 
     private static Objenesis objenesis = new ObjenesisStd(true);
 
+    /**
+     * 反序列化时使用的读取缓冲区（每个IO线程一份，重复使用）
+     * 仅在数据不是堆内存（直接内存、组合缓冲区）时使用，用于逐段读取，不会把整个消息复制到一个字节数组中
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final FastThreadLocal<LinkedBuffer> READ_BUFFER = new FastThreadLocal<LinkedBuffer>() {
+        @Override
+        protected LinkedBuffer initialValue() {
+            return LinkedBuffer.allocate(READ_BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * 序列化时使用的写入缓冲区（每个IO线程一份，重复使用）
+     * 写满后直接刷入目标ByteBuf，不再为每个消息分配LinkedBuffer和结果字节数组
+     */
+    private static final int WRITE_BUFFER_SIZE = 4096;
+    private static final FastThreadLocal<LinkedBuffer> WRITE_BUFFER = new FastThreadLocal<LinkedBuffer>() {
+        @Override
+        protected LinkedBuffer initialValue() {
+            return LinkedBuffer.allocate(WRITE_BUFFER_SIZE);
+        }
+    };
+
+    static {
+        // RpcRequest使用手工定义的序列化结构（按位置写入请求参数）
+        RpcRequestSchema requestSchema = new RpcRequestSchema();
+        RuntimeSchema.register(RpcRequest.class, requestSchema);
+        cachedSchema.put(RpcRequest.class, requestSchema);
+    }
+
     private ProtocolUtil() {
     }
 
@@ -41,6 +77,24 @@ public class ProtocolUtil {
         }
     }
 
+    /**
+     * 序列化（对象 -> ByteBuf）
+     * 将对象直接写入ByteBuf（从writerIndex开始），返回写入的字节数
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> int serialize(T obj, ByteBuf out) {
+        Class<T> cls = (Class<T>) obj.getClass();
+        LinkedBuffer buffer = WRITE_BUFFER.get();
+        try {
+            Schema<T> schema = getSchema(cls);
+            return ProtostuffIOUtil.writeTo(new ByteBufOutputStream(out), obj, schema, buffer);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
     /**
      * 反序列化（字节数组 -> 对象）
      */
@@ -55,13 +109,34 @@ public class ProtocolUtil {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> Schema<T> getSchema(Class<T> cls) {
-        Schema<T> schema = (Schema<T>) cachedSchema.get(cls);
-        if (schema == null) {
-            schema = RuntimeSchema.createFrom(cls);
-            cachedSchema.put(cls, schema);
+    /**
+     * 反序列化（ByteBuf -> 对象）
+     * 直接从ByteBuf中读取length个字节进行反序列化，读取完成后readerIndex向后移动length
+     * 堆内存直接读取其底层数组；直接内存及组合缓冲区通过流的方式逐段读取
+     */
+    public static <T> T deserialize(ByteBuf in, int length, Class<T> cls) {
+        int readerIndex = in.readerIndex();
+        try {
+            T message = objenesis.newInstance(cls);
+            Schema<T> schema = getSchema(cls);
+            if (in.hasArray()) {
+                ProtostuffIOUtil.mergeFrom(in.array(), in.arrayOffset() + readerIndex, length, message, schema);
+            } else {
+                ProtostuffIOUtil.mergeFrom(new ByteBufInputStream(in, length), message, schema, READ_BUFFER.get());
+            }
+            return message;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            in.readerIndex(readerIndex + length);
         }
-        return schema;
+    }
+
+    /**
+     * 获取类型的序列化结构（与嵌套对象共用RuntimeSchema的缓存，可通过ProtocolSchemaWarmup预先生成）
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Schema<T> getSchema(Class<T> cls) {
+        return (Schema<T>) cachedSchema.computeIfAbsent(cls, RuntimeSchema::getSchema);
     }
 }
@@ -0,0 +1,218 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.dyuproject.protostuff.Input;
+import com.dyuproject.protostuff.Output;
+import com.dyuproject.protostuff.ProtostuffException;
+import com.dyuproject.protostuff.Schema;
+import com.dyuproject.protostuff.runtime.ObjectSchema;
+import com.dyuproject.protostuff.runtime.RuntimeEnv;
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.meta.RpcRequest;
+
+import java.io.IOException;
+
+/**
+ * RpcRequest的序列化结构（手工定义，替代RuntimeSchema）
+ *
+ * 请求ID由编解码器写入帧头，不在此写入
+ * 已协商方法编号的请求只写入方法编号，不再写入服务接口名称、版本及方法签名
+ * 请求参数按位置写入：第i个参数使用字段号(ARGUMENT_FIELD_BASE + i)，值为null的参数不写入
+ * 参数值只携带Protostuff自身的类型标识（基本类型及其包装类、String等只有一个标签），不再携带参数的Class对象
+ * 注：RuntimeSchema在序列化Object[]时会丢弃null元素，导致参数错位，因此不能直接使用
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class RpcRequestSchema implements Schema<RpcRequest> {
+    // 字段1（请求ID）已移至帧头，保留不用
+    private static final int FIELD_INTERFACE_NAME = 2;
+    private static final int FIELD_SERVICE_VERSION = 3;
+    private static final int FIELD_METHOD_SIGNATURE = 4;
+    private static final int FIELD_REQUEST_MODE = 5;
+    private static final int FIELD_REQUEST_IP = 6;
+    private static final int FIELD_REQUEST_SESSION_ID = 7;
+    private static final int FIELD_ARGUMENT_COUNT = 8;
+    private static final int FIELD_METHOD_ID = 9;
+    private static final int ARGUMENT_FIELD_BASE = 16;
+    /**
+     * 参数个数的上限（Java方法最多255个参数），超出时视为非法请求，避免按对端发送的个数分配过大的数组
+     */
+    private static final int MAX_ARGUMENT_COUNT = 255;
+
+    private static final RequestMode[] REQUEST_MODES = RequestMode.values();
+
+    /**
+     * 多态对象的序列化结构（读取时将参数值写入ArgumentHolder）
+     */
+    private static final ObjectSchema ARGUMENT_SCHEMA = new ObjectSchema(RuntimeEnv.ID_STRATEGY) {
+        @Override
+        protected void setValue(Object value, Object owner) {
+            ((ArgumentHolder) owner).value = value;
+        }
+    };
+
+    @Override
+    public void writeTo(Output output, RpcRequest request) throws IOException {
+        if (request.getMethodId() != 0) {
+            output.writeUInt32(FIELD_METHOD_ID, request.getMethodId(), false);
+        } else {
+            if (request.getInterfaceName() != null) {
+                output.writeString(FIELD_INTERFACE_NAME, request.getInterfaceName(), false);
+            }
+            if (request.getServiceVersion() != null) {
+                output.writeString(FIELD_SERVICE_VERSION, request.getServiceVersion(), false);
+            }
+            if (request.getMethodSignature() != null) {
+                output.writeString(FIELD_METHOD_SIGNATURE, request.getMethodSignature(), false);
+            }
+        }
+        if (request.getRequestMode() != null) {
+            output.writeEnum(FIELD_REQUEST_MODE, request.getRequestMode().ordinal(), false);
+        }
+        if (request.getRequestIp() != null) {
+            output.writeString(FIELD_REQUEST_IP, request.getRequestIp(), false);
+        }
+        if (request.getRequestSessionId() != null) {
+            output.writeString(FIELD_REQUEST_SESSION_ID, request.getRequestSessionId(), false);
+        }
+        Object[] arguments = request.getArguments();
+        if (arguments != null && arguments.length > 0) {
+            output.writeUInt32(FIELD_ARGUMENT_COUNT, arguments.length, false);
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i] != null) {
+                    output.writeObject(ARGUMENT_FIELD_BASE + i, arguments[i], ARGUMENT_SCHEMA, false);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void mergeFrom(Input input, RpcRequest request) throws IOException {
+        ArgumentHolder holder = null;
+        for (int number = input.readFieldNumber(this); number != 0; number = input.readFieldNumber(this)) {
+            switch (number) {
+                case FIELD_INTERFACE_NAME:
+                    request.setInterfaceName(input.readString());
+                    break;
+                case FIELD_SERVICE_VERSION:
+                    request.setServiceVersion(input.readString());
+                    break;
+                case FIELD_METHOD_SIGNATURE:
+                    request.setMethodSignature(input.readString());
+                    break;
+                case FIELD_REQUEST_MODE:
+                    request.setRequestMode(REQUEST_MODES[input.readEnum()]);
+                    break;
+                case FIELD_REQUEST_IP:
+                    request.setRequestIp(input.readString());
+                    break;
+                case FIELD_REQUEST_SESSION_ID:
+                    request.setRequestSessionId(input.readString());
+                    break;
+                case FIELD_ARGUMENT_COUNT:
+                    int argumentCount = input.readUInt32();
+                    if (argumentCount < 0 || argumentCount > MAX_ARGUMENT_COUNT) {
+                        throw new ProtostuffException("非法的请求参数个数：" + (argumentCount & 0xFFFFFFFFL));
+                    }
+                    request.setArguments(new Object[argumentCount]);
+                    break;
+                case FIELD_METHOD_ID:
+                    request.setMethodId(input.readUInt32());
+                    break;
+                default:
+                    Object[] arguments = request.getArguments();
+                    int index = number - ARGUMENT_FIELD_BASE;
+                    if (arguments != null && index >= 0 && index < arguments.length) {
+                        if (holder == null) {
+                            holder = new ArgumentHolder();
+                        }
+                        input.mergeObject(holder, ARGUMENT_SCHEMA);
+                        arguments[index] = holder.value;
+                    } else {
+                        input.handleUnknownField(number, this);
+                    }
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public String getFieldName(int number) {
+        switch (number) {
+            case FIELD_INTERFACE_NAME:
+                return "interfaceName";
+            case FIELD_SERVICE_VERSION:
+                return "serviceVersion";
+            case FIELD_METHOD_SIGNATURE:
+                return "methodSignature";
+            case FIELD_REQUEST_MODE:
+                return "requestMode";
+            case FIELD_REQUEST_IP:
+                return "requestIp";
+            case FIELD_REQUEST_SESSION_ID:
+                return "requestSessionId";
+            case FIELD_ARGUMENT_COUNT:
+                return "argumentCount";
+            case FIELD_METHOD_ID:
+                return "methodId";
+            default:
+                return number >= ARGUMENT_FIELD_BASE ? String.valueOf(number) : null;
+        }
+    }
+
+    @Override
+    public int getFieldNumber(String name) {
+        switch (name) {
+            case "interfaceName":
+                return FIELD_INTERFACE_NAME;
+            case "serviceVersion":
+                return FIELD_SERVICE_VERSION;
+            case "methodSignature":
+                return FIELD_METHOD_SIGNATURE;
+            case "requestMode":
+                return FIELD_REQUEST_MODE;
+            case "requestIp":
+                return FIELD_REQUEST_IP;
+            case "requestSessionId":
+                return FIELD_REQUEST_SESSION_ID;
+            case "argumentCount":
+                return FIELD_ARGUMENT_COUNT;
+            case "methodId":
+                return FIELD_METHOD_ID;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public boolean isInitialized(RpcRequest request) {
+        return true;
+    }
+
+    @Override
+    public RpcRequest newMessage() {
+        return new RpcRequest();
+    }
+
+    @Override
+    public String messageName() {
+        return RpcRequest.class.getSimpleName();
+    }
+
+    @Override
+    public String messageFullName() {
+        return RpcRequest.class.getName();
+    }
+
+    @Override
+    public Class<? super RpcRequest> typeClass() {
+        return RpcRequest.class;
+    }
+
+    /**
+     * 读取单个参数值的临时容器
+     */
+    private static final class ArgumentHolder {
+        Object value;
+    }
+}
@@ -0,0 +1,173 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.FieldSerializer;
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.meta.RpcBatchRequest;
+import com.kitchen.rpc.common.meta.RpcBatchResponse;
+import com.kitchen.rpc.common.meta.RpcHandshake;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 基于Kryo的序列化器（按注册编号写入类型）
+ *
+ * 类型只写入一个varint编号，并强制注册（拒绝未注册的类，对端无法指定任意类名进行实例化）
+ * 业务参数、返回值的类型须通过register注册，注册编号由注册顺序决定，因此客户端与服务端必须以相同顺序注册
+ * 响应中的异常由KryoThrowableSerializer按类名重建，无需注册
+ * Kryo实例非线程安全，每个线程持有一份（连同读写缓冲区）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class KryoSerializer implements RpcSerializer {
+    public static final byte ID = 2;
+    public static final String NAME = "kryo";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * 按注册顺序排列的类型（框架内置类型在前）
+     */
+    private static final List<Class<?>> REGISTRATIONS = new CopyOnWriteArrayList<>();
+
+    static {
+        register(RpcRequest.class);
+        register(RpcResponse.class);
+        register(RpcHandshake.class);
+        register(RpcMethodTable.class);
+        register(RequestMode.class);
+        register(Object[].class);
+        register(ArrayList.class);
+        register(HashMap.class);
+        register(LinkedHashMap.class);
+        register(HashSet.class);
+        register(Date.class);
+        register(RpcBatchRequest.class);
+        register(RpcBatchResponse.class);
+        register(long[].class);
+        register(byte[].class);
+        register(int[].class);
+        register(String[].class);
+        register(LinkedList.class);
+        register(LinkedHashSet.class);
+        register(TreeMap.class);
+        register(TreeSet.class);
+        register(BigDecimal.class);
+        register(BigInteger.class);
+    }
+
+    private static final FastThreadLocal<KryoHolder> KRYO = new FastThreadLocal<KryoHolder>() {
+        @Override
+        protected KryoHolder initialValue() {
+            return new KryoHolder();
+        }
+    };
+
+    /**
+     * 注册类型（应在发起或接收请求前完成）
+     */
+    public static void register(Class<?> cls) {
+        if (!REGISTRATIONS.contains(cls)) {
+            REGISTRATIONS.add(cls);
+        }
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int serialize(Object obj, ByteBuf out) {
+        KryoHolder holder = KRYO.get();
+        Output output = holder.output;
+        int writerIndex = out.writerIndex();
+        try {
+            output.setOutputStream(new ByteBufOutputStream(out));
+            holder.kryo().writeObject(output, obj);
+            output.flush();
+            return out.writerIndex() - writerIndex;
+        } finally {
+            output.setOutputStream(null);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, int length, Class<T> cls) {
+        KryoHolder holder = KRYO.get();
+        Input input = holder.input;
+        int readerIndex = in.readerIndex();
+        try {
+            if (in.hasArray()) {
+                input.setBuffer(in.array(), in.arrayOffset() + readerIndex, length);
+            } else {
+                input.setInputStream(new ByteBufInputStream(in, length));
+            }
+            return holder.kryo().readObject(input, cls);
+        } finally {
+            // 恢复线程自有的读取缓冲区（不持有ByteBuf的底层数组）
+            input.setBuffer(holder.inputBuffer, 0, 0);
+            in.readerIndex(readerIndex + length);
+        }
+    }
+
+    /**
+     * 线程持有的Kryo实例及读写缓冲区
+     */
+    private static final class KryoHolder {
+        private final Kryo kryo = new Kryo();
+        private final Output output = new Output(BUFFER_SIZE, -1);
+        private final byte[] inputBuffer = new byte[BUFFER_SIZE];
+        private final Input input = new Input(inputBuffer, 0, 0);
+        // 已向当前Kryo实例注册的类型数量
+        private int registered;
+
+        KryoHolder() {
+            kryo.setRegistrationRequired(true);
+            kryo.setReferences(false);
+            kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            // 响应中的异常按类名重建（异常类型不要求注册，也不经过Java序列化）
+            FieldSerializer<RpcResponse> responseSerializer = new FieldSerializer<>(kryo, RpcResponse.class);
+            responseSerializer.getField("exception").setClass(Exception.class, new KryoThrowableSerializer());
+            kryo.addDefaultSerializer(RpcResponse.class, responseSerializer);
+        }
+
+        Kryo kryo() {
+            // 补充注册之后新增的类型
+            int count = REGISTRATIONS.size();
+            while (registered < count) {
+                kryo.register(REGISTRATIONS.get(registered));
+                registered++;
+            }
+            return kryo;
+        }
+    }
+}
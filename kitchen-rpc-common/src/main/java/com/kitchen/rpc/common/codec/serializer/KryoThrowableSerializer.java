@@ -0,0 +1,115 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Kryo的异常序列化器
+ *
+ * 只传输异常的类名、消息、调用栈及原因链（不传输被抑制的异常），读取时通过构造方法重建异常，
+ * 不经过Java序列化（避免ObjectInputStream的反序列化漏洞）
+ * 读取的类名必须是声明类型的子类；本端不存在该异常类时，以RuntimeException代替
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+class KryoThrowableSerializer extends Serializer<Throwable> {
+    // 原因链的最大深度
+    private static final int MAX_CAUSE_DEPTH = 8;
+    // 调用栈的最大深度（与JVM默认的MaxJavaStackTraceDepth一致）
+    private static final int MAX_STACK_DEPTH = 1024;
+
+    @Override
+    public void write(Kryo kryo, Output output, Throwable throwable) {
+        write(output, throwable, 0);
+    }
+
+    @Override
+    public Throwable read(Kryo kryo, Input input, Class<Throwable> type) {
+        return read(kryo, input, type, 0);
+    }
+
+    private void write(Output output, Throwable throwable, int depth) {
+        output.writeString(throwable.getClass().getName());
+        output.writeString(throwable.getMessage());
+
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        int stackDepth = Math.min(stackTrace.length, MAX_STACK_DEPTH);
+        output.writeVarInt(stackDepth, true);
+        for (int i = 0; i < stackDepth; i++) {
+            StackTraceElement element = stackTrace[i];
+            output.writeString(element.getClassName());
+            output.writeString(element.getMethodName());
+            output.writeString(element.getFileName());
+            output.writeVarInt(element.getLineNumber(), false);
+        }
+
+        Throwable cause = throwable.getCause();
+        boolean hasCause = cause != null && cause != throwable && depth < MAX_CAUSE_DEPTH;
+        output.writeBoolean(hasCause);
+        if (hasCause) {
+            write(output, cause, depth + 1);
+        }
+    }
+
+    private Throwable read(Kryo kryo, Input input, Class<? extends Throwable> type, int depth) {
+        String className = input.readString();
+        String message = input.readString();
+        Throwable throwable = newInstance(kryo, type, className, message);
+
+        int stackDepth = input.readVarInt(true);
+        if (stackDepth > MAX_STACK_DEPTH) {
+            throw new KryoException("异常调用栈深度超出限制：" + stackDepth);
+        }
+        StackTraceElement[] stackTrace = new StackTraceElement[stackDepth];
+        for (int i = 0; i < stackDepth; i++) {
+            stackTrace[i] = new StackTraceElement(input.readString(), input.readString(), input.readString(), input.readVarInt(false));
+        }
+        throwable.setStackTrace(stackTrace);
+
+        if (input.readBoolean()) {
+            if (depth >= MAX_CAUSE_DEPTH) {
+                throw new KryoException("异常原因链深度超出限制");
+            }
+            Throwable cause = read(kryo, input, Throwable.class, depth + 1);
+            try {
+                throwable.initCause(cause);
+            } catch (IllegalStateException e) {
+                // 构造方法已设置了原因，保持不变
+            }
+        }
+        return throwable;
+    }
+
+    /**
+     * 按类名重建异常：优先使用(String)构造方法，其次无参构造方法，都不存在时不经构造方法创建实例（丢失消息）
+     */
+    private Throwable newInstance(Kryo kryo, Class<? extends Throwable> type, String className, String message) {
+        Class<?> cls;
+        try {
+            cls = Class.forName(className, false, kryo.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return new RuntimeException(className + ": " + message);
+        }
+        if (!type.isAssignableFrom(cls)) {
+            throw new KryoException("非法的异常类型：" + className);
+        }
+        Class<? extends Throwable> throwableClass = cls.asSubclass(Throwable.class);
+        try {
+            Constructor<? extends Throwable> constructor = throwableClass.getConstructor(String.class);
+            return constructor.newInstance(message);
+        } catch (ReflectiveOperationException e) {
+            // 尝试其他方式
+        }
+        try {
+            return throwableClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return kryo.newInstance(throwableClass);
+        }
+    }
+}
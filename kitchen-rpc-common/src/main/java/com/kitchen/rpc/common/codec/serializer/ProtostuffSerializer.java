@@ -0,0 +1,35 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import com.kitchen.rpc.common.codec.protostuff.ProtocolUtil;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 基于Protostuff RuntimeSchema的序列化器（默认）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtostuffSerializer implements RpcSerializer {
+    public static final byte ID = 1;
+    public static final String NAME = "protostuff";
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int serialize(Object obj, ByteBuf out) {
+        return ProtocolUtil.serialize(obj, out);
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, int length, Class<T> cls) {
+        return ProtocolUtil.deserialize(in, length, cls);
+    }
+}
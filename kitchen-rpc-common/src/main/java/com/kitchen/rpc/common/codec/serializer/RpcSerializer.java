@@ -0,0 +1,36 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 消息序列化器（扩展点）
+ * 编号写入帧头，接收方按帧头中的编号选择序列化器进行反序列化
+ * 自定义序列化器可通过SerializerCache.register注册，或在META-INF/services/com.kitchen.rpc.common.codec.serializer.RpcSerializer中声明
+ * 注：实现类需保证线程安全
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public interface RpcSerializer {
+    /**
+     * 序列化器编号（1~127，框架内置的序列化器占用1~15）
+     */
+    byte getId();
+
+    /**
+     * 序列化器名称（用于配置）
+     */
+    String getName();
+
+    /**
+     * 序列化（对象 -> ByteBuf）
+     * 将对象直接写入ByteBuf（从writerIndex开始），返回写入的字节数
+     */
+    int serialize(Object obj, ByteBuf out);
+
+    /**
+     * 反序列化（ByteBuf -> 对象）
+     * 从ByteBuf中读取length个字节进行反序列化，读取完成后readerIndex向后移动length
+     */
+    <T> T deserialize(ByteBuf in, int length, Class<T> cls);
+}
@@ -0,0 +1,84 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.ServiceLoader;
+
+/**
+ * 序列化器缓存
+ * 保存已注册的序列化器（按编号索引），以及每个连接通道协商使用的序列化器
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class SerializerCache {
+    private static final AttributeKey<RpcSerializer> CHANNEL_SERIALIZER = AttributeKey.valueOf("kitchen.rpc.serializer");
+
+    private static final RpcSerializer DEFAULT_SERIALIZER = new ProtostuffSerializer();
+
+    private static volatile RpcSerializer[] serializers = new RpcSerializer[128];
+
+    static {
+        register(DEFAULT_SERIALIZER);
+        register(new KryoSerializer());
+        // 加载扩展的序列化器
+        for (RpcSerializer serializer : ServiceLoader.load(RpcSerializer.class)) {
+            register(serializer);
+        }
+    }
+
+    /**
+     * 注册序列化器（编号相同时覆盖）
+     */
+    public static synchronized void register(RpcSerializer serializer) {
+        byte id = serializer.getId();
+        if (id <= 0) {
+            throw new IllegalArgumentException("序列化器编号必须在1~127之间：" + serializer.getName());
+        }
+        RpcSerializer[] copy = serializers.clone();
+        copy[id] = serializer;
+        serializers = copy;
+    }
+
+    /**
+     * 根据编号获取序列化器，未注册返回null
+     */
+    public static RpcSerializer get(byte id) {
+        return id > 0 ? serializers[id] : null;
+    }
+
+    /**
+     * 根据名称获取序列化器，未注册返回null
+     */
+    public static RpcSerializer get(String name) {
+        for (RpcSerializer serializer : serializers) {
+            if (serializer != null && serializer.getName().equalsIgnoreCase(name)) {
+                return serializer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 默认序列化器（握手完成前使用）
+     */
+    public static RpcSerializer getDefault() {
+        return DEFAULT_SERIALIZER;
+    }
+
+    /**
+     * 获取连接通道协商使用的序列化器（未协商时返回默认序列化器）
+     */
+    public static RpcSerializer get(Channel channel) {
+        RpcSerializer serializer = channel.attr(CHANNEL_SERIALIZER).get();
+        return serializer == null ? DEFAULT_SERIALIZER : serializer;
+    }
+
+    /**
+     * 设置连接通道使用的序列化器
+     */
+    public static void set(Channel channel, RpcSerializer serializer) {
+        channel.attr(CHANNEL_SERIALIZER).set(serializer);
+    }
+}
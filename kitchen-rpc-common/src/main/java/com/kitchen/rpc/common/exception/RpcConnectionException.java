@@ -0,0 +1,13 @@
+package com.kitchen.rpc.common.exception;
+
+/**
+ * RPC连接断开异常（请求发出后、收到响应前连接已关闭）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class RpcConnectionException extends RuntimeException {
+    public RpcConnectionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.kitchen.rpc.common.exception;
+
+/**
+ * RPC请求超时异常（在超时时间内未收到服务提供者的响应）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class RpcTimeoutException extends RuntimeException {
+    public RpcTimeoutException(String message) {
+        super(message);
+    }
+}
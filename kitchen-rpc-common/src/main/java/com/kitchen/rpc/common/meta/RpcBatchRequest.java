@@ -0,0 +1,59 @@
+package com.kitchen.rpc.common.meta;
+
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+
+import java.util.List;
+
+/**
+ * 批量RPC请求（多个请求在一个帧中发送，服务端并行处理后以一个批量响应返回）
+ * 每个请求的ID随消息体传输，批量响应按相同顺序返回各请求的结果
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcBatchRequest implements RpcMessage {
+    // 帧头中的请求ID（取第一个请求的ID，仅用于排查问题）
+    private transient long requestId;
+
+    // 消息体的压缩策略（不进行传输）
+    private transient CompressionPolicy compression;
+
+    private List<RpcRequest> requests;
+    // 各请求的ID（与requests一一对应）
+    private long[] requestIds;
+
+    @Override
+    public long getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public void setRequestId(long requestId) {
+        this.requestId = requestId;
+    }
+
+    public List<RpcRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<RpcRequest> requests) {
+        this.requests = requests;
+    }
+
+    public long[] getRequestIds() {
+        return requestIds;
+    }
+
+    public void setRequestIds(long[] requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    @Override
+    public CompressionPolicy getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionPolicy compression) {
+        this.compression = compression;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kitchen.rpc.common.meta;
+
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+
+import java.util.List;
+
+/**
+ * 批量RPC响应（与批量请求中的请求按顺序一一对应）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcBatchResponse implements RpcMessage {
+    // 对应批量请求的帧头请求ID
+    private transient long requestId;
+
+    // 消息体的压缩策略（不进行传输）
+    private transient CompressionPolicy compression;
+
+    private List<RpcResponse> responses;
+    // 各响应对应的请求ID（原样取自批量请求）
+    private long[] requestIds;
+
+    @Override
+    public long getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public void setRequestId(long requestId) {
+        this.requestId = requestId;
+    }
+
+    public List<RpcResponse> getResponses() {
+        return responses;
+    }
+
+    public void setResponses(List<RpcResponse> responses) {
+        this.responses = responses;
+    }
+
+    public long[] getRequestIds() {
+        return requestIds;
+    }
+
+    public void setRequestIds(long[] requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    @Override
+    public CompressionPolicy getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionPolicy compression) {
+        this.compression = compression;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kitchen.rpc.common.meta;
+
+/**
+ * 握手请求（连接建立后由客户端发送）
+ * 服务端收到后回复本服务提供者的方法编号表（RpcMethodTable），并确定连接使用的序列化器
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcHandshake {
+    // 客户端支持的序列化器编号（按优先级排列）
+    private byte[] serializerIds;
+
+    public byte[] getSerializerIds() {
+        return serializerIds;
+    }
+
+    public void setSerializerIds(byte[] serializerIds) {
+        this.serializerIds = serializerIds;
+    }
+}
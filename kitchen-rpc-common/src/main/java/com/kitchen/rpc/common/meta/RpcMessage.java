@@ -0,0 +1,21 @@
+package com.kitchen.rpc.common.meta;
+
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+
+/**
+ * 携带请求ID的RPC消息（请求、响应）
+ * 请求ID不进行序列化，由编解码器写入帧头；压缩策略仅供编码器使用，不进行传输
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public interface RpcMessage {
+    long getRequestId();
+
+    void setRequestId(long requestId);
+
+    /**
+     * 消息体的压缩策略（null表示不压缩）
+     */
+    CompressionPolicy getCompression();
+}
@@ -0,0 +1,33 @@
+package com.kitchen.rpc.common.meta;
+
+import java.util.List;
+
+/**
+ * 服务提供者的方法编号表（握手时由服务端发送）
+ * 方法编号 = 在列表中的下标 + 1（0表示未协商，请求中仍使用完整的服务名与方法签名）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcMethodTable {
+    // 方法键（服务名#方法签名）
+    private List<String> methodKeys;
+    // 服务端选定的序列化器编号（握手完成后双方均使用该序列化器）
+    private byte serializerId;
+
+    public List<String> getMethodKeys() {
+        return methodKeys;
+    }
+
+    public void setMethodKeys(List<String> methodKeys) {
+        this.methodKeys = methodKeys;
+    }
+
+    public byte getSerializerId() {
+        return serializerId;
+    }
+
+    public void setSerializerId(byte serializerId) {
+        this.serializerId = serializerId;
+    }
+}
@@ -1,8 +1,7 @@
 package com.kitchen.rpc.common.meta;
 
 import com.kitchen.rpc.common.RequestMode;
-
-import java.util.HashMap;
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
 
 /**
  * 封装 RPC 请求对象
@@ -10,17 +9,22 @@ import java.util.HashMap;
  * @date 2016-12-02
  * @author 赵梓彧 - kitchen_dev@163.com
  */
-public class RpcRequest {
-    // 请求的唯一标识
-    private String requestId;
+public class RpcRequest implements RpcMessage {
+    // 请求的唯一标识（连接内递增，在帧头中传输）
+    private transient long requestId;
+    // 请求的方法编号（连接握手时协商，0表示未协商）
+    // 有方法编号时，服务接口名称、版本及方法签名不再写入请求
+    private int methodId;
     // 请求的服务接口名称
     private String interfaceName;
     // 请求的服务接口版本
     private String serviceVersion;
-    // 请求的服务接口方法
-    private String methodName;
-    // 请求方法的参数
-    private HashMap<Integer, RpcRequestParam> parameters;
+    // 请求的服务接口方法签名，格式：方法名(参数类型1,参数类型2)
+    private String methodSignature;
+    // 请求方法的参数（按参数位置排列）
+    private Object[] arguments;
+    // 消息体的压缩策略（不进行传输）
+    private transient CompressionPolicy compression;
     // 请求类型（方式）
     private RequestMode requestMode;
 
@@ -28,15 +32,29 @@ public class RpcRequest {
     private String requestIp;
     // 发起请求的SessionId（在非HTTP请求下，可能为空）
     private String requestSessionId;
+    // 请求方法的参数类型（仅VARINT_LENGTH帧格式按旧版本格式发送时使用，不进行传输）
+    private transient Class<?>[] parameterTypes;
+    // 一致性哈希负载均衡的哈希键（@RpcHashKey标注的参数值，不进行传输）
+    private transient String hashKey;
 
-    public String getRequestId() {
+    @Override
+    public long getRequestId() {
         return requestId;
     }
 
-    public void setRequestId(String requestId) {
+    @Override
+    public void setRequestId(long requestId) {
         this.requestId = requestId;
     }
 
+    public int getMethodId() {
+        return methodId;
+    }
+
+    public void setMethodId(int methodId) {
+        this.methodId = methodId;
+    }
+
     public String getInterfaceName() {
         return interfaceName;
     }
@@ -53,20 +71,20 @@ public class RpcRequest {
         this.serviceVersion = serviceVersion;
     }
 
-    public String getMethodName() {
-        return methodName;
+    public String getMethodSignature() {
+        return methodSignature;
     }
 
-    public void setMethodName(String methodName) {
-        this.methodName = methodName;
+    public void setMethodSignature(String methodSignature) {
+        this.methodSignature = methodSignature;
     }
 
-    public HashMap<Integer, RpcRequestParam> getParameters() {
-        return parameters;
+    public Object[] getArguments() {
+        return arguments;
     }
 
-    public void setParameters(HashMap<Integer, RpcRequestParam> parameters) {
-        this.parameters = parameters;
+    public void setArguments(Object[] arguments) {
+        this.arguments = arguments;
     }
 
     public RequestMode getRequestMode() {
@@ -92,4 +110,29 @@ public class RpcRequest {
     public void setRequestSessionId(String requestSessionId) {
         this.requestSessionId = requestSessionId;
     }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public void setParameterTypes(Class<?>[] parameterTypes) {
+        this.parameterTypes = parameterTypes;
+    }
+
+    public String getHashKey() {
+        return hashKey;
+    }
+
+    public void setHashKey(String hashKey) {
+        this.hashKey = hashKey;
+    }
+
+    @Override
+    public CompressionPolicy getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionPolicy compression) {
+        this.compression = compression;
+    }
 }
@@ -1,6 +1,6 @@
 package com.kitchen.rpc.common.meta;
 
-import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
 
 /**
  * 封装 RPC 响应对象
@@ -8,9 +8,12 @@ import com.kitchen.rpc.common.RequestMode;
  * @date 2016-12-02
  * @author 赵梓彧 - kitchen_dev@163.com
  */
-public class RpcResponse {
-    private String requestId;
-    private RequestMode requestMode;
+public class RpcResponse implements RpcMessage {
+    // 对应请求的ID（在帧头中传输）
+    private transient long requestId;
+
+    // 消息体的压缩策略（不进行传输）
+    private transient CompressionPolicy compression;
 
     private Exception exception;
     private Object result;
@@ -19,11 +22,13 @@ public class RpcResponse {
         return exception != null;
     }
 
-    public String getRequestId() {
+    @Override
+    public long getRequestId() {
         return requestId;
     }
 
-    public void setRequestId(String requestId) {
+    @Override
+    public void setRequestId(long requestId) {
         this.requestId = requestId;
     }
 
@@ -43,11 +48,12 @@ public class RpcResponse {
         this.result = result;
     }
 
-    public RequestMode getRequestMode() {
-        return requestMode;
+    @Override
+    public CompressionPolicy getCompression() {
+        return compression;
     }
 
-    public void setRequestMode(RequestMode requestMode) {
-        this.requestMode = requestMode;
+    public void setCompression(CompressionPolicy compression) {
+        this.compression = compression;
     }
 }
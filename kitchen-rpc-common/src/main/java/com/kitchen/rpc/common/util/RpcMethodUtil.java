@@ -0,0 +1,58 @@
+package com.kitchen.rpc.common.util;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务方法工具类
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class RpcMethodUtil {
+    private static Map<Method, String> signatureCache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取方法签名，格式：方法名(参数类型1,参数类型2)
+     * 参数类型使用Class.getName()，服务端与客户端以此唯一确定一个（重载）方法
+     */
+    public static String getSignature(Method method) {
+        String signature = signatureCache.get(method);
+        if (signature == null) {
+            signature = buildSignature(method);
+            signatureCache.put(method, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * 获取服务名，格式：接口名-版本号（无版本号时即为接口名）
+     */
+    public static String getServiceName(String interfaceName, String serviceVersion) {
+        if (RpcStringUtil.isNotEmpty(serviceVersion)) {
+            return interfaceName + "-" + serviceVersion;
+        }
+        return interfaceName;
+    }
+
+    /**
+     * 获取方法键，格式：服务名#方法签名
+     * 方法编号表以此作为键
+     */
+    public static String getMethodKey(String serviceName, String signature) {
+        return serviceName + "#" + signature;
+    }
+
+    private static String buildSignature(Method method) {
+        StringBuilder builder = new StringBuilder(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(parameterTypes[i].getName());
+        }
+        return builder.append(')').toString();
+    }
+}
@@ -1,67 +0,0 @@
-package com.kitchen.rpc.common.util;
-
-import com.dyuproject.protostuff.LinkedBuffer;
-import com.dyuproject.protostuff.ProtostuffIOUtil;
-import com.dyuproject.protostuff.Schema;
-import com.dyuproject.protostuff.runtime.RuntimeSchema;
-import org.springframework.objenesis.Objenesis;
-import org.springframework.objenesis.ObjenesisStd;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-/**
- * 序列化工具类（基于 Protostuff 实现）
- *
- * @date 2016-12-02
- * @author 赵梓彧 - kitchen_dev@163.com
- */
-public class SerializationUtil {
-    private static Map<Class<?>, Schema<?>> cachedSchema = new ConcurrentHashMap<>();
-
-    private static Objenesis objenesis = new ObjenesisStd(true);
-
-    private SerializationUtil() {
-    }
-
-    /**
-     * 序列化（对象 -> 字节数组）
-     */
-    @SuppressWarnings("unchecked")
-    public static <T> byte[] serialize(T obj) {
-        Class<T> cls = (Class<T>) obj.getClass();
-        LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
-        try {
-            Schema<T> schema = getSchema(cls);
-            return ProtostuffIOUtil.toByteArray(obj, schema, buffer);
-        } catch (Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        } finally {
-            buffer.clear();
-        }
-    }
-
-    /**
-     * 反序列化（字节数组 -> 对象）
-     */
-    public static <T> T deserialize(byte[] data, Class<T> cls) {
-        try {
-            T message = objenesis.newInstance(cls);
-            Schema<T> schema = getSchema(cls);
-            ProtostuffIOUtil.mergeFrom(data, message, schema);
-            return message;
-        } catch (Exception e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T> Schema<T> getSchema(Class<T> cls) {
-        Schema<T> schema = (Schema<T>) cachedSchema.get(cls);
-        if (schema == null) {
-            schema = RuntimeSchema.createFrom(cls);
-            cachedSchema.put(cls, schema);
-        }
-        return schema;
-    }
-}
@@ -0,0 +1,264 @@
+package com.kitchen.rpc.common.codec.frame;
+
+import com.dyuproject.protostuff.ProtostuffException;
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.annotation.RpcCompression;
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+import com.kitchen.rpc.common.codec.compress.CompressionType;
+import com.kitchen.rpc.common.codec.protostuff.ProtocolUtil;
+import com.kitchen.rpc.common.meta.RpcBatchRequest;
+import com.kitchen.rpc.common.meta.RpcBatchResponse;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.compression.DecompressionException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 固定帧头编解码的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ProtocolFrameCodecTest {
+
+    @Test
+    public void testRequestRoundTrip() {
+        RpcRequest request = new RpcRequest();
+        request.setRequestId(42L);
+        request.setInterfaceName("com.kitchen.demo.DemoService");
+        request.setMethodSignature("hello(int,java.lang.String,java.lang.String,long)");
+        request.setArguments(new Object[]{1, null, "kitchen", 2L});
+        request.setRequestMode(RequestMode.SYNC);
+
+        RpcRequest decoded = roundTrip(request);
+        assertEquals(42L, decoded.getRequestId());
+        assertEquals("com.kitchen.demo.DemoService", decoded.getInterfaceName());
+        assertEquals("hello(int,java.lang.String,java.lang.String,long)", decoded.getMethodSignature());
+        assertArrayEquals(new Object[]{1, null, "kitchen", 2L}, decoded.getArguments());
+        assertEquals(RequestMode.SYNC, decoded.getRequestMode());
+    }
+
+    @Test
+    public void testRequestWithMethodId() {
+        RpcRequest request = new RpcRequest();
+        request.setMethodId(7);
+        request.setInterfaceName("com.kitchen.demo.DemoService");
+        request.setMethodSignature("hello()");
+        request.setRequestMode(RequestMode.ASYNC);
+
+        RpcRequest decoded = roundTrip(request);
+        assertEquals(7, decoded.getMethodId());
+        assertNull(decoded.getInterfaceName());
+        assertNull(decoded.getMethodSignature());
+        assertEquals(RequestMode.ASYNC, decoded.getRequestMode());
+    }
+
+    @Test
+    public void testRejectIllegalArgumentCount() {
+        // 字段8（参数个数）的标签为0x40，其后分别为超出上限的个数及负数
+        byte[][] bodies = {
+                {0x40, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x40},
+                {0x40, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}
+        };
+        for (byte[] body : bodies) {
+            try {
+                ProtocolUtil.deserialize(body, RpcRequest.class);
+                fail();
+            } catch (IllegalStateException e) {
+                Throwable cause = e;
+                while (cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                assertTrue(cause instanceof ProtostuffException);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchRoundTrip() {
+        RpcBatchRequest batchRequest = new RpcBatchRequest();
+        List<RpcRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RpcRequest request = new RpcRequest();
+            request.setMethodId(i + 1);
+            request.setRequestMode(RequestMode.FUTURE);
+            request.setArguments(new Object[]{i, null});
+            requests.add(request);
+        }
+        batchRequest.setRequests(requests);
+        batchRequest.setRequestIds(new long[]{11L, 12L, 13L});
+
+        RpcBatchRequest decodedRequest = roundTrip(batchRequest);
+        assertArrayEquals(new long[]{11L, 12L, 13L}, decodedRequest.getRequestIds());
+        assertEquals(3, decodedRequest.getRequests().size());
+        assertEquals(3, decodedRequest.getRequests().get(2).getMethodId());
+        assertArrayEquals(new Object[]{2, null}, decodedRequest.getRequests().get(2).getArguments());
+
+        RpcBatchResponse batchResponse = new RpcBatchResponse();
+        RpcResponse success = new RpcResponse();
+        success.setResult("kitchen");
+        RpcResponse empty = new RpcResponse();
+        batchResponse.setResponses(Arrays.asList(success, empty));
+        batchResponse.setRequestIds(new long[]{11L, 12L});
+
+        RpcBatchResponse decodedResponse = roundTrip(batchResponse);
+        assertArrayEquals(new long[]{11L, 12L}, decodedResponse.getRequestIds());
+        assertEquals("kitchen", decodedResponse.getResponses().get(0).getResult());
+        assertNull(decodedResponse.getResponses().get(1).getResult());
+    }
+
+    @Test
+    public void testResponseArrivesInPieces() {
+        RpcResponse response = new RpcResponse();
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            result.append(i);
+        }
+        response.setResult(result.toString());
+
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(encoder.writeOutbound(response));
+        ByteBuf frame = encoder.readOutbound();
+        assertEquals(ProtocolFrame.MAGIC, frame.getShort(0));
+        assertEquals(FrameMessageType.RESPONSE.getCode(), frame.getByte(4));
+        assertEquals(frame.readableBytes() - ProtocolFrame.HEADER_LENGTH, frame.getInt(ProtocolFrame.BODY_LENGTH_OFFSET));
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertFalse(decoder.writeInbound(frame.readRetainedSlice(ProtocolFrame.HEADER_LENGTH + 10)));
+        assertTrue(decoder.writeInbound(frame));
+        RpcResponse decoded = decoder.readInbound();
+        assertEquals(result.toString(), decoded.getResult());
+    }
+
+    @Test
+    public void testCompressionThreshold() throws Exception {
+        CompressionPolicy compression = CompressionPolicy.of(CompressedService.class.getMethod("list"));
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            result.append("item-").append(i % 100).append(',');
+        }
+
+        RpcResponse large = new RpcResponse();
+        large.setCompression(compression);
+        large.setResult(result.toString());
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(encoder.writeOutbound(large));
+        ByteBuf frame = encoder.readOutbound();
+        assertEquals(CompressionType.SNAPPY.getCode(), frame.getByte(ProtocolFrame.FLAGS_OFFSET));
+        assertTrue(frame.readableBytes() < result.length() / 2);
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(decoder.writeInbound(frame));
+        RpcResponse decoded = decoder.readInbound();
+        assertEquals(result.toString(), decoded.getResult());
+
+        // 未达到阈值的消息不压缩
+        RpcResponse small = new RpcResponse();
+        small.setCompression(compression);
+        small.setResult("kitchen");
+        assertTrue(encoder.writeOutbound(small));
+        ByteBuf smallFrame = encoder.readOutbound();
+        assertEquals(0, smallFrame.getByte(ProtocolFrame.FLAGS_OFFSET));
+        smallFrame.release();
+    }
+
+    @Test
+    public void testDropResponseNoLongerPending() {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        for (long requestId = 1; requestId <= 2; requestId++) {
+            RpcResponse response = new RpcResponse();
+            response.setRequestId(requestId);
+            response.setResult("kitchen-" + requestId);
+            encoder.writeOutbound(response);
+        }
+
+        // 只有请求2仍在等待响应
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec(requestId -> requestId == 2L));
+        assertFalse(decoder.writeInbound((Object) encoder.readOutbound()));
+        assertTrue(decoder.writeInbound((Object) encoder.readOutbound()));
+        RpcResponse decoded = decoder.readInbound();
+        assertEquals(2L, decoded.getRequestId());
+        assertEquals("kitchen-2", decoded.getResult());
+    }
+
+    @Test
+    public void testRejectWrongMagic() {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        encoder.writeOutbound(new RpcResponse());
+        ByteBuf frame = encoder.readOutbound();
+        frame.setShort(0, 0x1234);
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        try {
+            decoder.writeInbound(frame);
+            fail();
+        } catch (DecoderException e) {
+            assertTrue(e instanceof CorruptedFrameException);
+        }
+    }
+
+    @Test
+    public void testRejectOversizedSnappyBlock() {
+        // 块头声明的解压后长度为2^28（仅10字节的消息体）
+        ByteBuf hugePreamble = Unpooled.buffer().writeInt(6).writeBytes(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01, 0x00});
+        assertRejected(compressedFrame(hugePreamble), DecompressionException.class);
+
+        // 块长度超出32KB数据块压缩后的最大长度
+        ByteBuf hugeBlock = Unpooled.buffer().writeInt(64 * 1024).writeZero(64 * 1024);
+        assertRejected(compressedFrame(hugeBlock), DecompressionException.class);
+
+        // 块头声明的长度与实际解压的长度不一致（声明1字节，实际为2字节的字面量）
+        ByteBuf mismatch = Unpooled.buffer().writeInt(4).writeBytes(new byte[]{0x01, 0x04, 'k', 'c'});
+        assertRejected(compressedFrame(mismatch), DecompressionException.class);
+    }
+
+    /**
+     * 使用正常的帧头，替换为压缩的消息体
+     */
+    private static ByteBuf compressedFrame(ByteBuf body) {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        encoder.writeOutbound(new RpcResponse());
+        ByteBuf frame = encoder.readOutbound();
+        frame.writerIndex(ProtocolFrame.HEADER_LENGTH);
+        frame.setByte(ProtocolFrame.FLAGS_OFFSET, CompressionType.SNAPPY.getCode());
+        frame.setInt(ProtocolFrame.BODY_LENGTH_OFFSET, body.readableBytes());
+        frame.writeBytes(body);
+        body.release();
+        return frame;
+    }
+
+    private static void assertRejected(ByteBuf frame, Class<? extends DecoderException> exceptionClass) {
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        try {
+            decoder.writeInbound(frame);
+            fail();
+        } catch (DecoderException e) {
+            assertTrue(e.toString(), exceptionClass.isInstance(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(Object message) {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(encoder.writeOutbound(message));
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(decoder.writeInbound((Object) encoder.readOutbound()));
+        return (T) decoder.readInbound();
+    }
+
+    @RpcCompression(threshold = 1024)
+    private interface CompressedService {
+        String list();
+    }
+}
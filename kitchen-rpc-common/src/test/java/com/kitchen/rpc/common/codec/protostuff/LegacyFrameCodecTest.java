@@ -0,0 +1,106 @@
+package com.kitchen.rpc.common.codec.protostuff;
+
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * VARINT_LENGTH帧格式与旧版本消息格式兼容的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class LegacyFrameCodecTest {
+
+    @Test
+    public void testLegacyClientRequest() {
+        // 旧版本客户端发出的请求：字符串请求ID、方法名+参数类型
+        LegacyRpcRequest legacy = new LegacyRpcRequest();
+        legacy.requestId = "0b5c3f0e-uuid";
+        legacy.interfaceName = "com.kitchen.demo.DemoService";
+        legacy.methodName = "hello";
+        legacy.parameters = new HashMap<>();
+        Class<?>[] types = {int.class, String.class};
+        Object[] values = {1, null};
+        for (int i = 0; i < types.length; i++) {
+            LegacyRpcRequestParam param = new LegacyRpcRequestParam();
+            param.paramType = types[i];
+            param.paramValue = values[i];
+            legacy.parameters.put(i, param);
+        }
+        legacy.requestMode = RequestMode.ASYNC_CALLBACK;
+
+        LegacyRequestTable requestTable = new LegacyRequestTable();
+        EmbeddedChannel server = new EmbeddedChannel(new ProtocolDecoder(RpcRequest.class, requestTable),
+                new ProtocolEncoder(RpcResponse.class, requestTable));
+        assertTrue(server.writeInbound(frame(legacy)));
+        RpcRequest request = server.readInbound();
+        assertEquals("com.kitchen.demo.DemoService", request.getInterfaceName());
+        assertEquals("hello(int,java.lang.String)", request.getMethodSignature());
+        assertArrayEquals(new Object[]{1, null}, request.getArguments());
+
+        // 响应按对照表还原原始的请求ID及请求类型
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(request.getRequestId());
+        response.setResult("kitchen");
+        assertTrue(server.writeOutbound(response));
+        LegacyRpcResponse decoded = unframe(server.readOutbound(), LegacyRpcResponse.class);
+        assertEquals("0b5c3f0e-uuid", decoded.requestId);
+        assertEquals(RequestMode.ASYNC_CALLBACK, decoded.requestMode);
+        assertEquals("kitchen", decoded.result);
+    }
+
+    @Test
+    public void testRequestToLegacyServer() {
+        RpcRequest request = new RpcRequest();
+        request.setRequestId(42L);
+        request.setInterfaceName("com.kitchen.demo.DemoService");
+        request.setMethodSignature("hello(int,java.lang.String)");
+        request.setParameterTypes(new Class<?>[]{int.class, String.class});
+        request.setArguments(new Object[]{1, "kitchen"});
+        request.setRequestMode(RequestMode.FUTURE);
+
+        EmbeddedChannel client = new EmbeddedChannel(new ProtocolEncoder(RpcRequest.class), new ProtocolDecoder(RpcResponse.class));
+        assertTrue(client.writeOutbound(request));
+        LegacyRpcRequest legacy = unframe(client.readOutbound(), LegacyRpcRequest.class);
+        assertEquals("42", legacy.requestId);
+        assertEquals("hello", legacy.methodName);
+        assertEquals(String.class, legacy.parameters.get(1).paramType);
+        assertEquals("kitchen", legacy.parameters.get(1).paramValue);
+        // 旧版本没有FUTURE类型
+        assertEquals(RequestMode.ASYNC_CALLBACK, legacy.requestMode);
+
+        // 旧版本服务端原样返回请求ID
+        LegacyRpcResponse response = new LegacyRpcResponse();
+        response.requestId = legacy.requestId;
+        response.requestMode = legacy.requestMode;
+        response.result = "kitchen";
+        assertTrue(client.writeInbound(frame(response)));
+        RpcResponse decoded = client.readInbound();
+        assertEquals(42L, decoded.getRequestId());
+        assertEquals("kitchen", decoded.getResult());
+    }
+
+    private static ByteBuf frame(Object message) {
+        byte[] body = ProtocolUtil.serialize(message);
+        return Unpooled.buffer(4 + body.length).writeInt(body.length).writeBytes(body);
+    }
+
+    private static <T> T unframe(ByteBuf frame, Class<T> cls) {
+        try {
+            int length = frame.readInt();
+            assertEquals(length, frame.readableBytes());
+            return ProtocolUtil.deserialize(frame, length, cls);
+        } finally {
+            frame.release();
+        }
+    }
+}
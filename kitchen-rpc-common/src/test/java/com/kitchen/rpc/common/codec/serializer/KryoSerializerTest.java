@@ -0,0 +1,124 @@
+package com.kitchen.rpc.common.codec.serializer;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.kitchen.rpc.common.RequestMode;
+import com.kitchen.rpc.common.codec.frame.ProtocolFrameCodec;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Kryo序列化器的测试（经由固定帧头编解码）
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class KryoSerializerTest {
+
+    @Test
+    public void testRequestRoundTrip() {
+        RpcRequest request = new RpcRequest();
+        request.setRequestId(9L);
+        request.setMethodId(3);
+        request.setArguments(new Object[]{1, null, "kitchen", 2L});
+        request.setRequestMode(RequestMode.SYNC);
+
+        ByteBuf frame = encodeWithKryo(request);
+        assertEquals(KryoSerializer.ID, frame.getByte(5));
+
+        RpcRequest decoded = decode(frame);
+        assertEquals(9L, decoded.getRequestId());
+        assertEquals(3, decoded.getMethodId());
+        assertArrayEquals(new Object[]{1, null, "kitchen", 2L}, decoded.getArguments());
+        assertEquals(RequestMode.SYNC, decoded.getRequestMode());
+    }
+
+    @Test
+    public void testResponseWithException() {
+        IllegalStateException exception = new IllegalStateException("kitchen", new IOException("disk"));
+        RpcResponse response = new RpcResponse();
+        response.setException(exception);
+
+        ByteBuf frame = encodeWithKryo(response);
+        // 堆内存缓冲区走直接读取底层数组的分支
+        RpcResponse decoded = decode(Unpooled.copiedBuffer(frame));
+        frame.release();
+        assertTrue(decoded.getException() instanceof IllegalStateException);
+        assertEquals("kitchen", decoded.getException().getMessage());
+        StackTraceElement[] stackTrace = decoded.getException().getStackTrace();
+        assertEquals(exception.getStackTrace().length, stackTrace.length);
+        assertEquals(exception.getStackTrace()[0].getMethodName(), stackTrace[0].getMethodName());
+        assertEquals(exception.getStackTrace()[0].getLineNumber(), stackTrace[0].getLineNumber());
+        assertTrue(decoded.getException().getCause() instanceof IOException);
+        assertEquals("disk", decoded.getException().getCause().getMessage());
+    }
+
+    @Test
+    public void testUnregisteredClassRejected() {
+        RpcRequest request = new RpcRequest();
+        request.setArguments(new Object[]{new StringBuilder("kitchen")});
+        ByteBuf out = Unpooled.buffer();
+        try {
+            new KryoSerializer().serialize(request, out);
+            fail("未注册的类型应被拒绝");
+        } catch (KryoException e) {
+            assertTrue(e.getMessage().contains(StringBuilder.class.getName()));
+        } finally {
+            out.release();
+        }
+    }
+
+    @Test
+    public void testUnnegotiatedSerializerRejected() {
+        RpcRequest request = new RpcRequest();
+        request.setRequestId(1L);
+        request.setArguments(new Object[]{"kitchen"});
+
+        // 握手完成前只接受默认序列化器
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        try {
+            decoder.writeInbound(encodeWithKryo(request));
+            fail("未协商的序列化器应被拒绝");
+        } catch (CorruptedFrameException e) {
+            // 期望的异常
+        }
+
+        // 协商为Kryo后，对端切换前的默认序列化器的帧仍可接受，切换后不再接受
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        assertTrue(encoder.writeOutbound(request));
+        ByteBuf defaultFrame = encoder.readOutbound();
+        decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        SerializerCache.set(decoder, SerializerCache.get(KryoSerializer.NAME));
+        assertTrue(decoder.writeInbound(defaultFrame.retainedDuplicate()));
+        assertTrue(decoder.writeInbound(encodeWithKryo(request)));
+        try {
+            decoder.writeInbound(defaultFrame);
+            fail("切换后默认序列化器的帧应被拒绝");
+        } catch (CorruptedFrameException e) {
+            // 期望的异常
+        }
+    }
+
+    private static ByteBuf encodeWithKryo(Object message) {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        SerializerCache.set(encoder, SerializerCache.get(KryoSerializer.NAME));
+        assertTrue(encoder.writeOutbound(message));
+        return encoder.readOutbound();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T decode(ByteBuf frame) {
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtocolFrameCodec());
+        SerializerCache.set(decoder, SerializerCache.get(KryoSerializer.NAME));
+        assertTrue(decoder.writeInbound(frame));
+        return (T) decoder.readInbound();
+    }
+}
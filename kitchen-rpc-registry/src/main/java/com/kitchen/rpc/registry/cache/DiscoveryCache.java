@@ -3,11 +3,14 @@ package com.kitchen.rpc.registry.cache;
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.registry.policy.PolicyConfig;
 import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
 import com.kitchen.rpc.registry.policy.impl.*;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 /**
  * 服务探寻器缓存
@@ -17,8 +20,8 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class DiscoveryCache {
 
-    // 客户端发现的服务地址缓存至内存
-    private static Map<String, LinkedHashMap<String, Integer>> SERVICE_ADDRESS_CACHE = new ConcurrentHashMap<>();
+    // 客户端发现的服务地址快照缓存至内存（服务名 -> 地址快照），快照表只整体替换、不修改
+    private static volatile Map<String, ServiceAddressSnapshot> SERVICE_ADDRESS_CACHE = Collections.emptyMap();
 
     private static BaseServiceAddressPolicy policy;
 
@@ -29,7 +32,7 @@ public class DiscoveryCache {
                 policy = new ServiceAddressByRandom();
                 break;
             case RoundRobin:
-                // 适用场景：每个服务提供者都提供相同的服务菜单
+                // 适用场景不限
                 policy = new ServiceAddressByRoundRobin();
                 break;
             case WeightRandom:
@@ -37,13 +40,21 @@ public class DiscoveryCache {
                 policy = new ServiceAddressByWeightRandom();
                 break;
             case WeightRoundRobin:
-                // 适用场景：每个服务提供者都提供相同的服务菜单
+                // 适用场景不限
                 policy = new ServiceAddressByWeightRoundRobin();
                 break;
             case IpAddressHash:
                 // 适用场景：要求请求会话一致的业务
                 policy = new ServiceAddressByHash();
                 break;
+            case ConsistentHash:
+                // 适用场景：要求请求会话一致，或服务提供者按键缓存数据的业务
+                policy = new ServiceAddressByConsistentHash();
+                break;
+            case LeastPending:
+                // 适用场景不限，服务提供者响应时间差异较大时效果更好
+                policy = new ServiceAddressByLeastPending();
+                break;
             default:
                 policy = new ServiceAddressByRandom();
                 break;
@@ -56,27 +67,47 @@ public class DiscoveryCache {
      * @return
      */
     public static String getServiceAddress(String serviceName, RpcRequest rpcRequest) {
-        if (SERVICE_ADDRESS_CACHE == null) {
+        ServiceAddressSnapshot snapshot = SERVICE_ADDRESS_CACHE.get(serviceName);
+        if (snapshot == null || snapshot.isEmpty()) {
             return null;
         }
-        String address = null;
-        // 深拷贝
-        if (SERVICE_ADDRESS_CACHE.containsKey(serviceName)) {
-            LinkedHashMap<String, Integer> addressMap = (LinkedHashMap<String, Integer>) SERVICE_ADDRESS_CACHE.get(serviceName).clone();
-            address = policy.getAddress(addressMap, rpcRequest);
+        return policy.getAddress(snapshot, rpcRequest, Collections.<String>emptySet());
+    }
+
+    /**
+     * 获取服务的访问地址（排除指定的地址），没有其它可用地址时返回null
+     * 在原快照上选择并跳过被排除的地址，不生成新的快照
+     */
+    public static String getServiceAddress(String serviceName, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        ServiceAddressSnapshot snapshot = SERVICE_ADDRESS_CACHE.get(serviceName);
+        if (snapshot == null || snapshot.isEmpty()) {
+            return null;
         }
+        return policy.getAddress(snapshot, rpcRequest, excludeAddresses);
+    }
 
-        return address;
+    /**
+     * 获取服务的地址快照，未发现该服务时返回null
+     */
+    public static ServiceAddressSnapshot getSnapshot(String serviceName) {
+        return SERVICE_ADDRESS_CACHE.get(serviceName);
     }
 
-    public static void setServiceAddressCache(Map<String, LinkedHashMap<String, Integer>> newCache) {
-        synchronized (SERVICE_ADDRESS_CACHE) {
-            SERVICE_ADDRESS_CACHE.clear();
-            SERVICE_ADDRESS_CACHE.putAll(newCache);
+    /**
+     * 以新的服务地址表替换缓存
+     * 创建新的快照表后一次性替换引用，读取方始终看到完整的快照表；地址未变化的服务沿用原快照，变化的服务沿用原轮询计数器
+     */
+    public static synchronized void setServiceAddressCache(Map<String, LinkedHashMap<String, Integer>> newCache) {
+        Map<String, ServiceAddressSnapshot> snapshotMap = new HashMap<>();
+        for (Map.Entry<String, LinkedHashMap<String, Integer>> item : newCache.entrySet()) {
+            ServiceAddressSnapshot current = SERVICE_ADDRESS_CACHE.get(item.getKey());
+            ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(item.getValue(), current);
+            snapshotMap.put(item.getKey(), current != null && current.sameAs(snapshot) ? current : snapshot);
         }
+        SERVICE_ADDRESS_CACHE = snapshotMap;
     }
 
-    public static void clear() {
-        SERVICE_ADDRESS_CACHE.clear();
+    public static synchronized void clear() {
+        SERVICE_ADDRESS_CACHE = Collections.emptyMap();
     }
 }
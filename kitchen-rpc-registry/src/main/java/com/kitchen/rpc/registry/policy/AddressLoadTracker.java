@@ -0,0 +1,48 @@
+package com.kitchen.rpc.registry.policy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务提供者的负载记录（各服务地址上已发送、尚未结束的请求数）
+ * 客户端在请求登记等待响应时增加，在收到响应、超时、发送失败或连接断开时减少
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class AddressLoadTracker {
+    /**
+     * 服务地址 -> 进行中的请求数
+     */
+    private static Map<String, AtomicInteger> loadMap = new ConcurrentHashMap<>();
+
+    public static void increment(String address) {
+        if (address == null) {
+            return;
+        }
+        AtomicInteger load = loadMap.get(address);
+        if (load == null) {
+            load = loadMap.computeIfAbsent(address, key -> new AtomicInteger());
+        }
+        load.incrementAndGet();
+    }
+
+    public static void decrement(String address) {
+        if (address == null) {
+            return;
+        }
+        AtomicInteger load = loadMap.get(address);
+        if (load != null) {
+            load.decrementAndGet();
+        }
+    }
+
+    /**
+     * 服务地址上进行中的请求数
+     */
+    public static int getLoad(String address) {
+        AtomicInteger load = loadMap.get(address);
+        return load != null ? load.get() : 0;
+    }
+}
@@ -2,7 +2,7 @@ package com.kitchen.rpc.registry.policy;
 
 import com.kitchen.rpc.common.meta.RpcRequest;
 
-import java.util.LinkedHashMap;
+import java.util.Set;
 
 /**
  * 获取服务提供者注册地址的策略
@@ -15,9 +15,11 @@ import java.util.LinkedHashMap;
 public interface BaseServiceAddressPolicy {
     /**
      * 获取传入参数中的一个地址，并返回
+     * 每次调用均会执行，实现中不应复制快照或分配与地址数量相关的对象
      *
-     * @param addressMap key:服务器地址 value:服务器权重
-     * @return
+     * @param snapshot 服务地址快照（不为空）
+     * @param excludeAddresses 排除的地址（对冲、重试时为已使用的地址，其它情况为空集合）
+     * @return 选择的地址，全部地址均被排除时返回null
      */
-    String getAddress(LinkedHashMap<String, Integer> addressMap, RpcRequest rpcRequest);
+    String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses);
 }
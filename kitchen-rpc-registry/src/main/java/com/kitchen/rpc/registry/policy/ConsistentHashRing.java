@@ -0,0 +1,101 @@
+package com.kitchen.rpc.registry.policy;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 一致性哈希环（带虚拟节点）
+ * 每个地址按权重在环上放置若干虚拟节点，哈希键顺时针找到的第一个虚拟节点即为选择的地址；
+ * 服务提供者上线、下线时，只有落在其虚拟节点附近的键被重新映射
+ * 哈希环随地址快照生成一次，查找时二分搜索，不分配对象
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public final class ConsistentHashRing {
+    /**
+     * 权重最大的地址的虚拟节点数（其它地址按权重比例减少，权重不为0时至少为1）
+     */
+    private static final int VIRTUAL_NODES = 160;
+
+    /**
+     * 虚拟节点的哈希值（升序）
+     */
+    private final long[] hashes;
+    /**
+     * 虚拟节点对应的地址索引
+     */
+    private final int[] indexes;
+
+    ConsistentHashRing(String[] addresses, int[] weights) {
+        int maxWeight = 1;
+        for (int weight : weights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int i = 0; i < addresses.length; i++) {
+            int nodes = weights[i] == 0 ? 0 : (int) Math.max(1L, (long) VIRTUAL_NODES * weights[i] / maxWeight);
+            for (int n = 0; n < nodes; n++) {
+                ring.put(hash(addresses[i] + "#" + n), i);
+            }
+        }
+        this.hashes = new long[ring.size()];
+        this.indexes = new int[ring.size()];
+        int k = 0;
+        for (Map.Entry<Long, Integer> node : ring.entrySet()) {
+            hashes[k] = node.getKey();
+            indexes[k] = node.getValue();
+            k++;
+        }
+    }
+
+    /**
+     * 哈希键在环上顺时针找到的第一个虚拟节点的位置
+     */
+    public int locate(String key) {
+        long hash = hash(key);
+        int low = 0;
+        int high = hashes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (hashes[mid] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        // 超过最大的哈希值时回到环的起点
+        return low < hashes.length ? low : 0;
+    }
+
+    /**
+     * 环上指定位置（可超出环的大小，按环绕计算）的虚拟节点对应的地址索引
+     */
+    public int addressAt(int position) {
+        return indexes[position % indexes.length];
+    }
+
+    /**
+     * 虚拟节点数
+     */
+    public int size() {
+        return hashes.length;
+    }
+
+    /**
+     * 64位FNV-1a哈希，再经MurmurHash3的fmix64混合（分布均匀，且无需创建MessageDigest）
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
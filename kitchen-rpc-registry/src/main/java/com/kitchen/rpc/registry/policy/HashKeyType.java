@@ -0,0 +1,12 @@
+package com.kitchen.rpc.registry.policy;
+
+/**
+ * 一致性哈希负载均衡的哈希键类型（服务方法的参数标注了@RpcHashKey时，以参数值为准）
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public enum HashKeyType {
+    RequestIp,      // <请求IP> 同一客户端IP的请求发送到同一个服务提供者
+    SessionId;      // <请求会话> 同一会话的请求发送到同一个服务提供者
+}
@@ -8,8 +8,10 @@ package com.kitchen.rpc.registry.policy;
  */
 public enum LoadBalancePolicyType {
     Random,             // <随机> 适用场景不限
-    RoundRobin,        // <轮询> 适用场景：每个服务提供者都提供相同的服务菜单
+    RoundRobin,        // <轮询> 适用场景不限
     WeightRandom,      // <加权随机> 适用场景不限
-    WeightRoundRobin, // <加权轮询> 适用场景：每个服务提供者都提供相同的服务菜单
-    IpAddressHash;     // <源地址哈希> 适用场景：要求请求会话一致的业务
+    WeightRoundRobin, // <加权轮询> 适用场景不限
+    IpAddressHash,     // <源地址哈希> 适用场景：要求请求会话一致的业务
+    ConsistentHash,    // <一致性哈希> 适用场景：要求请求会话一致，或服务提供者按键缓存数据的业务
+    LeastPending;      // <最少进行中请求> 适用场景不限，服务提供者响应时间差异较大时效果更好
 }
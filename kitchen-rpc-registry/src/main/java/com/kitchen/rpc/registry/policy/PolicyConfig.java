@@ -9,4 +9,14 @@ public class PolicyConfig {
      * 获取服务地址时的负载均衡策略
      */
     public static LoadBalancePolicyType SERVICE_LB_POLICY = LoadBalancePolicyType.RoundRobin;
+
+    /**
+     * 一致性哈希的哈希键类型（服务方法参数标注了@RpcHashKey时以参数值为准）
+     */
+    public static HashKeyType HASH_KEY_TYPE = HashKeyType.RequestIp;
+
+    /**
+     * 一致性哈希的负载系数（每个地址进行中的请求数不超过平均值的倍数，如1.25），不大于0时不限制
+     */
+    public static double HASH_LOAD_FACTOR = 0D;
 }
@@ -0,0 +1,200 @@
+package com.kitchen.rpc.registry.policy;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务地址快照（一个服务的全部服务提供者地址及权重）
+ * 快照创建后不再修改，服务地址变更时创建新的快照替换，负载均衡策略可直接读取数组，无需加锁或复制；
+ * 加权、哈希策略的选择结构随快照生成一次，地址不变时一直沿用
+ * 权重为0的地址不参与加权选择（加权随机、加权轮询、一致性哈希）；全部地址的权重均为0时，各地址按相同的权重选择
+ * 对冲、重试需要排除部分地址时，策略在完整的选择结构上跳过被排除的地址，不为排除后的地址生成新的快照
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public final class ServiceAddressSnapshot {
+    private static final String[] NO_ADDRESS = new String[0];
+    private static final int[] NO_WEIGHT = new int[0];
+
+    private final String[] addresses;
+    private final int[] weights;
+    private final int totalWeight;
+    /**
+     * 生成加权选择结构使用的权重（全部权重均为0时各地址均为1）
+     */
+    private final int[] selectionWeights;
+    private final int selectionTotalWeight;
+    /**
+     * 服务的轮询计数器（替换快照时由新快照沿用，各服务独立计数）
+     */
+    private final AtomicInteger position;
+    /**
+     * 加权、哈希策略的选择结构，首次使用时按快照生成（重复生成的结果相同，无需加锁）
+     */
+    private volatile WeightedAliasTable aliasTable;
+    private volatile SmoothWeightedSequence smoothSequence;
+    private volatile ConsistentHashRing hashRing;
+
+    private ServiceAddressSnapshot(String[] addresses, int[] weights, AtomicInteger position) {
+        this.addresses = addresses;
+        this.weights = weights;
+        this.position = position;
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        this.totalWeight = total;
+        if (total > 0 || weights.length == 0) {
+            this.selectionWeights = weights;
+            this.selectionTotalWeight = total;
+        } else {
+            this.selectionWeights = new int[weights.length];
+            Arrays.fill(selectionWeights, 1);
+            this.selectionTotalWeight = weights.length;
+        }
+    }
+
+    /**
+     * 按服务地址表（key:服务器地址 value:服务器权重）创建快照，权重小于0的地址按0计算，未指定权重的地址按1计算
+     */
+    public static ServiceAddressSnapshot of(LinkedHashMap<String, Integer> addressMap) {
+        return of(addressMap, null);
+    }
+
+    /**
+     * 按服务地址表创建替换previous的快照，沿用其轮询计数器
+     *
+     * @param previous 被替换的快照（首次发现该服务时为null）
+     */
+    public static ServiceAddressSnapshot of(LinkedHashMap<String, Integer> addressMap, ServiceAddressSnapshot previous) {
+        AtomicInteger position = previous != null ? previous.position : new AtomicInteger();
+        if (addressMap == null || addressMap.isEmpty()) {
+            return new ServiceAddressSnapshot(NO_ADDRESS, NO_WEIGHT, position);
+        }
+        String[] addresses = new String[addressMap.size()];
+        int[] weights = new int[addresses.length];
+        int i = 0;
+        for (Map.Entry<String, Integer> item : addressMap.entrySet()) {
+            addresses[i] = item.getKey();
+            weights[i] = item.getValue() != null ? Math.max(0, item.getValue()) : 1;
+            i++;
+        }
+        return new ServiceAddressSnapshot(addresses, weights, position);
+    }
+
+    /**
+     * 快照与新的服务地址表是否一致（地址、顺序及权重均相同），一致时可继续使用当前快照
+     */
+    public boolean sameAs(ServiceAddressSnapshot other) {
+        return Arrays.equals(addresses, other.addresses) && Arrays.equals(weights, other.weights);
+    }
+
+    public int size() {
+        return addresses.length;
+    }
+
+    public boolean isEmpty() {
+        return addresses.length == 0;
+    }
+
+    public String getAddress(int index) {
+        return addresses[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * 全部地址的权重之和
+     */
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * 加权随机的别名表
+     */
+    public WeightedAliasTable getAliasTable() {
+        WeightedAliasTable table = aliasTable;
+        if (table == null) {
+            table = new WeightedAliasTable(selectionWeights, selectionTotalWeight);
+            aliasTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * 平滑加权轮询的选择序列
+     */
+    public SmoothWeightedSequence getSmoothSequence() {
+        SmoothWeightedSequence sequence = smoothSequence;
+        if (sequence == null) {
+            sequence = new SmoothWeightedSequence(selectionWeights);
+            smoothSequence = sequence;
+        }
+        return sequence;
+    }
+
+    /**
+     * 一致性哈希环（只在服务地址变更时重新生成）
+     */
+    public ConsistentHashRing getHashRing() {
+        ConsistentHashRing ring = hashRing;
+        if (ring == null) {
+            ring = new ConsistentHashRing(addresses, selectionWeights);
+            hashRing = ring;
+        }
+        return ring;
+    }
+
+    /**
+     * 取得下一个轮询位置（非负，溢出后从0重新计数）
+     */
+    public int nextPosition() {
+        return position.getAndIncrement() & Integer.MAX_VALUE;
+    }
+
+    /**
+     * 地址是否被排除（对冲、重试时排除已使用的地址）
+     */
+    public boolean isExcluded(int index, Set<String> excludeAddresses) {
+        return !excludeAddresses.isEmpty() && excludeAddresses.contains(addresses[index]);
+    }
+
+    /**
+     * 在未被排除的地址中随机选择一个地址的索引，全部被排除时返回-1
+     */
+    public int randomIndex(Set<String> excludeAddresses) {
+        int remain = 0;
+        for (int i = 0; i < addresses.length; i++) {
+            if (!isExcluded(i, excludeAddresses)) {
+                remain++;
+            }
+        }
+        if (remain == 0) {
+            return -1;
+        }
+        int k = ThreadLocalRandom.current().nextInt(remain);
+        for (int i = 0; i < addresses.length; i++) {
+            if (!isExcluded(i, excludeAddresses) && k-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int indexOf(String address) {
+        for (int i = 0; i < addresses.length; i++) {
+            if (addresses[i].equals(address)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
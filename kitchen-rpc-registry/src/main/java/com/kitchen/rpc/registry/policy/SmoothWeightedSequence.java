@@ -0,0 +1,82 @@
+package com.kitchen.rpc.registry.policy;
+
+/**
+ * 平滑加权轮询的选择序列（与Nginx的smooth weighted round-robin算法结果一致）
+ * 权重按最大公约数约分后，预先按算法生成一个周期（长度为约分后的总权重）的选择顺序，
+ * 轮询时按计数器取序列中的地址索引，O(1)完成且不分配对象；同一地址在周期内均匀分散，不会连续集中
+ * 例：权重{a:5, b:1, c:1}的序列为 a a b a c a a，而不是 a a a a a b c
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public final class SmoothWeightedSequence {
+    /**
+     * 序列的最大长度，约分后的总权重超过时按比例缩小权重
+     */
+    private static final int MAX_LENGTH = 1 << 16;
+
+    private final int[] sequence;
+
+    SmoothWeightedSequence(int[] weights) {
+        int n = weights.length;
+        int divisor = 0;
+        for (int weight : weights) {
+            divisor = gcd(divisor, weight);
+        }
+        int[] reduced = new int[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            reduced[i] = weights[i] / divisor;
+            total += reduced[i];
+        }
+        if (total > MAX_LENGTH) {
+            // 权重差异过大时按比例缩小（权重不为0的地址至少保留1）
+            long scaledTotal = 0;
+            for (int i = 0; i < n; i++) {
+                reduced[i] = reduced[i] == 0 ? 0 : (int) Math.max(1L, reduced[i] * (long) MAX_LENGTH / total);
+                scaledTotal += reduced[i];
+            }
+            total = scaledTotal;
+        }
+
+        this.sequence = new int[(int) total];
+        int[] current = new int[n];
+        for (int k = 0; k < sequence.length; k++) {
+            // 每轮各地址的当前权重加上自身权重，选出当前权重最大者，并减去总权重
+            int best = 0;
+            for (int i = 0; i < n; i++) {
+                current[i] += reduced[i];
+                if (current[i] > current[best]) {
+                    best = i;
+                }
+            }
+            current[best] -= (int) total;
+            sequence[k] = best;
+        }
+    }
+
+    /**
+     * 按轮询位置选择一个地址的索引
+     *
+     * @param position 非负的轮询位置
+     */
+    public int select(int position) {
+        return sequence[position % sequence.length];
+    }
+
+    /**
+     * 序列的长度（一个周期）
+     */
+    public int size() {
+        return sequence.length;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
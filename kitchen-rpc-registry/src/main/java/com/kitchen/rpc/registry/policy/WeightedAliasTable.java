@@ -0,0 +1,76 @@
+package com.kitchen.rpc.registry.policy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 加权随机的别名表（Vose Alias Method）
+ * 将各地址的权重平均分配到n个槽位，每个槽位最多由两个地址（自身及别名）按比例分享；
+ * 选择时随机取一个槽位，再随机决定取自身还是别名，O(1)完成且不分配对象
+ * 全部按整数计算（槽位容量即总权重），选择概率与权重严格成比例
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public final class WeightedAliasTable {
+    /**
+     * 槽位容量（总权重）
+     */
+    private final int capacity;
+    /**
+     * 各槽位中属于自身地址的份额（小于capacity时，剩余份额属于别名地址）
+     */
+    private final int[] thresholds;
+    private final int[] aliases;
+
+    WeightedAliasTable(int[] weights, int totalWeight) {
+        int n = weights.length;
+        this.capacity = totalWeight;
+        this.thresholds = new int[n];
+        this.aliases = new int[n];
+
+        // 每个槽位容量为totalWeight，按权重*n分配，份额不足与超出的地址分别放入两个栈
+        long[] shares = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            shares[i] = (long) weights[i] * n;
+            aliases[i] = i;
+            if (shares[i] < totalWeight) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        // 份额不足的槽位由份额超出的地址补满
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            thresholds[less] = (int) shares[less];
+            aliases[less] = more;
+            shares[more] -= totalWeight - shares[less];
+            if (shares[more] < totalWeight) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 剩余的槽位恰好被自身填满
+        while (largeSize > 0) {
+            thresholds[large[--largeSize]] = totalWeight;
+        }
+        while (smallSize > 0) {
+            thresholds[small[--smallSize]] = totalWeight;
+        }
+    }
+
+    /**
+     * 按权重随机选择一个地址的索引
+     */
+    public int select() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(thresholds.length);
+        return random.nextInt(capacity) < thresholds[slot] ? slot : aliases[slot];
+    }
+}
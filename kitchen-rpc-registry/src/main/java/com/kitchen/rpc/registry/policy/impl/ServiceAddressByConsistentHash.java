@@ -0,0 +1,96 @@
+package com.kitchen.rpc.registry.policy.impl;
+
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.registry.policy.AddressLoadTracker;
+import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ConsistentHashRing;
+import com.kitchen.rpc.registry.policy.HashKeyType;
+import com.kitchen.rpc.registry.policy.PolicyConfig;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
+
+import java.util.Set;
+
+/**
+ * 负载均衡策略：一致性哈希（Consistent Hash）
+ * 哈希键（@RpcHashKey标注的参数，或按配置的请求IP、请求会话）映射到带虚拟节点的哈希环上，顺时针找到的第一个地址即为选择的地址。
+ * 与源地址哈希相比，服务提供者上线、下线时只有少量的键被重新映射，服务提供者中的会话状态与缓存大部分仍然有效。
+ *
+ * 有界负载（PolicyConfig.HASH_LOAD_FACTOR大于0时启用）：每个地址进行中的请求数不超过 平均请求数*负载系数，
+ * 超过时沿哈希环顺时针选择下一个未超出的地址，避免热点键压垮单个服务提供者
+ *
+ * 适用场景：要求请求会话一致，或服务提供者按键缓存数据的业务
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ServiceAddressByConsistentHash implements BaseServiceAddressPolicy {
+    private static final BaseServiceAddressPolicy RANDOM = new ServiceAddressByRandom();
+
+    @Override
+    public String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        String key = getHashKey(rpcRequest);
+        if (key == null || key.isEmpty()) {
+            // 无哈希键时随机
+            return RANDOM.getAddress(snapshot, rpcRequest, excludeAddresses);
+        }
+        ConsistentHashRing ring = snapshot.getHashRing();
+        int position = ring.locate(key);
+        if (!excludeAddresses.isEmpty()) {
+            // 地址被排除时（对冲、重试）沿哈希环顺时针找到第一个未被排除的地址，与该地址下线后的映射一致
+            position = skipExcluded(snapshot, ring, position, excludeAddresses);
+            if (position < 0) {
+                // 环上的地址均被排除时，在剩余（权重为0）的地址中选择
+                int index = snapshot.randomIndex(excludeAddresses);
+                return index >= 0 ? snapshot.getAddress(index) : null;
+            }
+        }
+        double loadFactor = PolicyConfig.HASH_LOAD_FACTOR;
+        if (loadFactor <= 0 || snapshot.size() == 1) {
+            return snapshot.getAddress(ring.addressAt(position));
+        }
+
+        // 有界负载：每个（未被排除的）地址的容量为 ceil(负载系数*(进行中的请求总数+1)/地址数)
+        int size = 0;
+        long totalLoad = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.isExcluded(i, excludeAddresses)) {
+                size++;
+                totalLoad += AddressLoadTracker.getLoad(snapshot.getAddress(i));
+            }
+        }
+        long capacity = (long) Math.ceil(loadFactor * (totalLoad + 1) / size);
+        for (int step = 0; step < ring.size(); step++) {
+            int index = ring.addressAt(position + step);
+            if (!snapshot.isExcluded(index, excludeAddresses)
+                    && AddressLoadTracker.getLoad(snapshot.getAddress(index)) < capacity) {
+                return snapshot.getAddress(index);
+            }
+        }
+        return snapshot.getAddress(ring.addressAt(position));
+    }
+
+    /**
+     * 从环上的指定位置顺时针找到第一个未被排除的地址所在的位置，全部被排除时返回-1
+     */
+    private static int skipExcluded(ServiceAddressSnapshot snapshot, ConsistentHashRing ring, int position, Set<String> excludeAddresses) {
+        for (int step = 0; step < ring.size(); step++) {
+            if (!snapshot.isExcluded(ring.addressAt(position + step), excludeAddresses)) {
+                return position + step;
+            }
+        }
+        return -1;
+    }
+
+    private static String getHashKey(RpcRequest rpcRequest) {
+        if (rpcRequest == null) {
+            return null;
+        }
+        if (rpcRequest.getHashKey() != null) {
+            return rpcRequest.getHashKey();
+        }
+        if (PolicyConfig.HASH_KEY_TYPE == HashKeyType.SessionId) {
+            return rpcRequest.getRequestSessionId();
+        }
+        return rpcRequest.getRequestIp();
+    }
+}
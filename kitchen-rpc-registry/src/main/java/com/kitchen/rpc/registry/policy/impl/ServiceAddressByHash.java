@@ -2,9 +2,8 @@ package com.kitchen.rpc.registry.policy.impl;
 
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.Set;
 
 /**
@@ -20,25 +19,27 @@ import java.util.Set;
  * @date 2017-03-16
  */
 public class ServiceAddressByHash implements BaseServiceAddressPolicy {
+    private static final BaseServiceAddressPolicy RANDOM = new ServiceAddressByRandom();
+
     @Override
-    public String getAddress(LinkedHashMap<String, Integer> addressMap, RpcRequest rpcRequest) {
+    public String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses) {
         if (rpcRequest != null && rpcRequest.getRequestIp() != null && !rpcRequest.getRequestIp().isEmpty()) {
             // 源地址Hash
-            // 取得IP地址列表
-            Set<String> keySet = addressMap.keySet();
-            ArrayList<String> addressList = new ArrayList<String>();
-            addressList.addAll(keySet);
-
             // 通过客户端的ip，取得它的Hash值，对服务器列表的大小取模，结果便是选用的服务器在服务器列表中的索引值
             int hashCode = rpcRequest.getRequestIp().hashCode();
-            int serverListSize = addressList.size();
-            int index = Math.abs(hashCode % serverListSize);
-
-            return addressList.get(index);
+            int size = snapshot.size();
+            int index = Math.abs(hashCode % size);
+            // 地址被排除时（对冲、重试）取列表中的下一个地址
+            for (int i = 0; i < size; i++) {
+                int probe = (index + i) % size;
+                if (!snapshot.isExcluded(probe, excludeAddresses)) {
+                    return snapshot.getAddress(probe);
+                }
+            }
+            return null;
         } else {
             // 随机
-            BaseServiceAddressPolicy policy = new ServiceAddressByRandom();
-            return policy.getAddress(addressMap, rpcRequest);
+            return RANDOM.getAddress(snapshot, rpcRequest, excludeAddresses);
         }
     }
 }
@@ -0,0 +1,52 @@
+package com.kitchen.rpc.registry.policy.impl;
+
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.registry.policy.AddressLoadTracker;
+import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 负载均衡策略：最少进行中请求（Least Pending）
+ * 选择当前客户端在其上进行中（已发送、尚未收到响应）的请求数最少的服务提供者，请求数相同时随机选择其一。
+ * 服务提供者处理变慢（如GC停顿）时，其进行中的请求数上升，新的请求自然转向其它服务提供者。
+ *
+ * 进行中的请求数只统计当前客户端等待响应的请求（单向的ASYNC请求不计入），由AddressLoadTracker记录
+ *
+ * 适用场景不限，尤其适用于服务提供者处理能力、响应时间差异较大的场景
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ServiceAddressByLeastPending implements BaseServiceAddressPolicy {
+    @Override
+    public String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        int size = snapshot.size();
+        if (size == 1 && excludeAddresses.isEmpty()) {
+            return snapshot.getAddress(0);
+        }
+        int selected = -1;
+        int leastLoad = Integer.MAX_VALUE;
+        int tieCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (snapshot.isExcluded(i, excludeAddresses)) {
+                continue;
+            }
+            int load = AddressLoadTracker.getLoad(snapshot.getAddress(i));
+            if (load < leastLoad) {
+                leastLoad = load;
+                selected = i;
+                tieCount = 1;
+            } else if (load == leastLoad) {
+                // 请求数相同的地址中等概率随机选择（蓄水池抽样，无需额外的列表）
+                tieCount++;
+                if (ThreadLocalRandom.current().nextInt(tieCount) == 0) {
+                    selected = i;
+                }
+            }
+        }
+        return selected >= 0 ? snapshot.getAddress(selected) : null;
+    }
+}
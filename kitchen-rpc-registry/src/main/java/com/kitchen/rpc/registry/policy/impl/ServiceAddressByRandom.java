@@ -2,9 +2,9 @@ package com.kitchen.rpc.registry.policy.impl;
 
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -16,20 +16,15 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class ServiceAddressByRandom implements BaseServiceAddressPolicy {
     @Override
-    public String getAddress(LinkedHashMap<String, Integer> addressMap, RpcRequest rpcRequest) {
-        if (addressMap == null || addressMap.size() == 0) {
-            return null;
+    public String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        if (!excludeAddresses.isEmpty()) {
+            int index = snapshot.randomIndex(excludeAddresses);
+            return index >= 0 ? snapshot.getAddress(index) : null;
         }
-        ArrayList<String> addressList = new ArrayList<>();
-        addressList.addAll(addressMap.keySet());
-
-        String address;
-        int size = addressList.size();
+        int size = snapshot.size();
         if (size == 1) {
-            address = addressList.get(0);
-        } else {
-            address = addressList.get(ThreadLocalRandom.current().nextInt(size));
+            return snapshot.getAddress(0);
         }
-        return address;
+        return snapshot.getAddress(ThreadLocalRandom.current().nextInt(size));
     }
 }
@@ -2,36 +2,57 @@ package com.kitchen.rpc.registry.policy.impl;
 
 import com.kitchen.rpc.common.meta.RpcRequest;
 import com.kitchen.rpc.registry.policy.BaseServiceAddressPolicy;
+import com.kitchen.rpc.registry.policy.ServiceAddressSnapshot;
 
-import java.util.*;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 负载均衡策略：加权随机（Weight Random）
  * 与加权轮询法一样，加权随机法也根据后端机器的配置，系统的负载分配不同的权重。不同的是，它是按照权重随机请求后端服务器，而非顺序。
+ * 按权重的随机选择使用别名表（Alias Method），地址变更时生成一次，每次选择为O(1)
  *
  * @author 赵梓彧 - kitchen_dev@163.com
  * @date 2017-03-16
  */
 public class ServiceAddressByWeightRandom implements BaseServiceAddressPolicy {
     @Override
-    public String getAddress(LinkedHashMap<String, Integer> addressMap, RpcRequest rpcRequest) {
-        // 取得IP地址列表
-        List<String> serverList = new ArrayList<>();
-        for (Map.Entry<String,Integer> item : addressMap.entrySet()) {
-            int weight = item.getValue();
-            for (int i = 0; i < weight; i++) {
-                serverList.add(item.getKey());
-            }
+    public String getAddress(ServiceAddressSnapshot snapshot, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        if (!excludeAddresses.isEmpty()) {
+            return selectExcluding(snapshot, excludeAddresses);
         }
-
-        String address;
-        int size = serverList.size();
+        int size = snapshot.size();
         if (size == 1) {
-            address = serverList.get(0);
-        } else {
-            address = serverList.get(ThreadLocalRandom.current().nextInt(size));
+            return snapshot.getAddress(0);
+        }
+        // 按预先生成的别名表选择（O(1)，等同于按权重展开地址列表后随机取值）
+        return snapshot.getAddress(snapshot.getAliasTable().select());
+    }
+
+    /**
+     * 排除部分地址时，按剩余地址的权重随机选择（剩余地址的权重均为0时等概率选择）
+     * 仅用于对冲、重试，直接遍历快照，不生成新的别名表
+     */
+    private static String selectExcluding(ServiceAddressSnapshot snapshot, Set<String> excludeAddresses) {
+        long remainWeight = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.isExcluded(i, excludeAddresses)) {
+                remainWeight += snapshot.getWeight(i);
+            }
+        }
+        if (remainWeight == 0) {
+            int index = snapshot.randomIndex(excludeAddresses);
+            return index >= 0 ? snapshot.getAddress(index) : null;
+        }
+        long random = ThreadLocalRandom.current().nextLong(remainWeight);
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.isExcluded(i, excludeAddresses)) {
+                random -= snapshot.getWeight(i);
+                if (random < 0) {
+                    return snapshot.getAddress(i);
+                }
+            }
         }
-        return address;
+        return null;
     }
 }
@@ -2,6 +2,8 @@ package com.kitchen.rpc.registry.store;
 
 import com.kitchen.rpc.common.meta.RpcRequest;
 
+import java.util.Set;
+
 /**
  * RPC服务发现（探寻）器接口
  *
@@ -18,6 +20,16 @@ public interface RpcServiceDiscovery {
      */
     String discoverService(String serviceName, RpcRequest rpcRequest);
 
+    /**
+     * 根据服务名称查找服务地址，排除指定的地址（如对冲、重试请求需发送到其它服务提供者）
+     *
+     * @param serviceName 服务名称
+     * @param rpcRequest RPC请求对象
+     * @param excludeAddresses 排除的服务地址
+     * @return 服务地址，没有其它可用地址时返回null
+     */
+    String discoverService(String serviceName, RpcRequest rpcRequest, Set<String> excludeAddresses);
+
     /**
      * 关闭相关资源
      */
@@ -42,6 +42,11 @@ public class ZooKeeperServiceDiscovery implements RpcServiceDiscovery {
         return serviceAddress;
     }
 
+    @Override
+    public String discoverService(String serviceName, RpcRequest rpcRequest, Set<String> excludeAddresses) {
+        return DiscoveryCache.getServiceAddress(serviceName, rpcRequest, excludeAddresses);
+    }
+
     @Override
     public void stop() {
         // 关闭ZooKeeper节点检查者
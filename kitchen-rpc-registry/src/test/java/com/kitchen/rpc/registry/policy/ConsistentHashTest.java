@@ -0,0 +1,126 @@
+package com.kitchen.rpc.registry.policy;
+
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.registry.policy.impl.ServiceAddressByConsistentHash;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * 一致性哈希（哈希环及有界负载）的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ConsistentHashTest {
+    private static final int KEYS = 10000;
+
+    @Test
+    public void testRemapOnRemove() {
+        LinkedHashMap<String, Integer> addressMap = addressMap(5);
+        ServiceAddressSnapshot before = ServiceAddressSnapshot.of(addressMap);
+        String removed = before.getAddress(1);
+        addressMap.remove(removed);
+        ServiceAddressSnapshot after = ServiceAddressSnapshot.of(addressMap);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            String oldAddress = select(before, key);
+            String newAddress = select(after, key);
+            if (!oldAddress.equals(removed)) {
+                // 其它地址上的键不受影响
+                assertEquals(oldAddress, newAddress);
+            } else {
+                moved++;
+            }
+        }
+        // 只有下线地址上的键（约1/5）被重新映射
+        assertEquals(KEYS / 5, moved, KEYS / 20);
+    }
+
+    @Test
+    public void testRemapOnAdd() {
+        ServiceAddressSnapshot before = ServiceAddressSnapshot.of(addressMap(4));
+        ServiceAddressSnapshot after = ServiceAddressSnapshot.of(addressMap(5));
+        String added = after.getAddress(4);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            String newAddress = select(after, key);
+            if (!newAddress.equals(select(before, key))) {
+                // 重新映射的键只会移到新上线的地址
+                assertEquals(added, newAddress);
+                moved++;
+            }
+        }
+        assertEquals(KEYS / 5, moved, KEYS / 20);
+    }
+
+    @Test
+    public void testBoundedLoadSpillover() {
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(addressMap(4));
+        String key = "key-hot";
+        String primary = select(snapshot, key);
+        ConsistentHashRing ring = snapshot.getHashRing();
+        int position = ring.locate(key);
+        String next = null;
+        for (int step = 1; next == null; step++) {
+            String address = snapshot.getAddress(ring.addressAt(position + step));
+            if (!address.equals(primary)) {
+                next = address;
+            }
+        }
+
+        double loadFactor = PolicyConfig.HASH_LOAD_FACTOR;
+        try {
+            PolicyConfig.HASH_LOAD_FACTOR = 1.25D;
+            for (int i = 0; i < 10; i++) {
+                AddressLoadTracker.increment(primary);
+            }
+            // 容量为 ceil(1.25*(10+1)/4)=4，热点地址超出后沿环顺时针转移到下一个地址
+            assertEquals(next, select(snapshot, key));
+
+            for (int i = 0; i < 10; i++) {
+                AddressLoadTracker.decrement(primary);
+            }
+            assertEquals(primary, select(snapshot, key));
+        } finally {
+            PolicyConfig.HASH_LOAD_FACTOR = loadFactor;
+        }
+    }
+
+    @Test
+    public void testWeightedNodes() {
+        LinkedHashMap<String, Integer> addressMap = new LinkedHashMap<>();
+        addressMap.put("10.0.0.1:8000", 4);
+        addressMap.put("10.0.0.2:8000", 1);
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(addressMap);
+        // 权重最大的地址160个虚拟节点，其它按权重比例
+        assertEquals(160 + 40, snapshot.getHashRing().size());
+        int heavy = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (select(snapshot, "key-" + i).equals("10.0.0.1:8000")) {
+                heavy++;
+            }
+        }
+        assertEquals(KEYS * 4 / 5, heavy, KEYS / 20);
+    }
+
+    private static String select(ServiceAddressSnapshot snapshot, String key) {
+        RpcRequest request = new RpcRequest();
+        request.setHashKey(key);
+        return new ServiceAddressByConsistentHash().getAddress(snapshot, request, Collections.<String>emptySet());
+    }
+
+    private static LinkedHashMap<String, Integer> addressMap(int size) {
+        LinkedHashMap<String, Integer> addressMap = new LinkedHashMap<>();
+        for (int i = 1; i <= size; i++) {
+            addressMap.put("10.0.0." + i + ":8000", 1);
+        }
+        return addressMap;
+    }
+}
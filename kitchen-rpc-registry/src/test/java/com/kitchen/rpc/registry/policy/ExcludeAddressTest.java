@@ -0,0 +1,110 @@
+package com.kitchen.rpc.registry.policy;
+
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.registry.policy.impl.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * 排除部分地址（对冲、重试）时各负载均衡策略的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ExcludeAddressTest {
+    private static final BaseServiceAddressPolicy[] POLICIES = {
+            new ServiceAddressByRandom(),
+            new ServiceAddressByRoundRobin(),
+            new ServiceAddressByWeightRandom(),
+            new ServiceAddressByWeightRoundRobin(),
+            new ServiceAddressByHash(),
+            new ServiceAddressByConsistentHash(),
+            new ServiceAddressByLeastPending()
+    };
+
+    @Test
+    public void testSkipExcluded() {
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshotTest.snapshot(5, 1, 1, 0, 3);
+        Set<String> excludeAddresses = new HashSet<>(Arrays.asList(snapshot.getAddress(0), snapshot.getAddress(4)));
+        for (BaseServiceAddressPolicy policy : POLICIES) {
+            for (int i = 0; i < 1000; i++) {
+                String address = policy.getAddress(snapshot, request("192.168.0." + i), excludeAddresses);
+                assertNotNull(policy.getClass().getSimpleName(), address);
+                assertFalse(policy.getClass().getSimpleName(), excludeAddresses.contains(address));
+            }
+        }
+    }
+
+    @Test
+    public void testAllExcluded() {
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshotTest.snapshot(1, 2);
+        Set<String> excludeAddresses = new HashSet<>(Arrays.asList(snapshot.getAddress(0), snapshot.getAddress(1)));
+        for (BaseServiceAddressPolicy policy : POLICIES) {
+            assertNull(policy.getClass().getSimpleName(), policy.getAddress(snapshot, request("192.168.0.1"), excludeAddresses));
+        }
+    }
+
+    @Test
+    public void testOnlyZeroWeightRemains() {
+        // 有权重的地址均被排除时，仍可选择权重为0的地址
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshotTest.snapshot(3, 0);
+        Set<String> excludeAddresses = Collections.singleton(snapshot.getAddress(0));
+        for (BaseServiceAddressPolicy policy : POLICIES) {
+            assertEquals(policy.getClass().getSimpleName(), snapshot.getAddress(1),
+                    policy.getAddress(snapshot, request("192.168.0.1"), excludeAddresses));
+        }
+    }
+
+    @Test
+    public void testWeightRandomProportion() {
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshotTest.snapshot(5, 1, 1, 0, 3);
+        Set<String> excludeAddresses = Collections.singleton(snapshot.getAddress(0));
+        BaseServiceAddressPolicy policy = new ServiceAddressByWeightRandom();
+        int[] counts = new int[snapshot.size()];
+        for (int i = 0; i < 50000; i++) {
+            counts[snapshot.indexOf(policy.getAddress(snapshot, null, excludeAddresses))]++;
+        }
+        // 剩余权重1:1:0:3
+        assertEquals(0, counts[3]);
+        assertEquals(10000, counts[1], 800);
+        assertEquals(10000, counts[2], 800);
+        assertEquals(30000, counts[4], 800);
+    }
+
+    @Test
+    public void testConsistentHashSameAsRemoved() {
+        // 排除地址后的选择，与该地址下线后（重新生成的哈希环）的选择一致
+        LinkedHashMap<String, Integer> addressMap = new LinkedHashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            addressMap.put("10.0.0." + i + ":8000", 1);
+        }
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(addressMap);
+        String removed = snapshot.getAddress(2);
+        addressMap.remove(removed);
+        ServiceAddressSnapshot remain = ServiceAddressSnapshot.of(addressMap);
+
+        BaseServiceAddressPolicy policy = new ServiceAddressByConsistentHash();
+        Set<String> excludeAddresses = Collections.singleton(removed);
+        ConsistentHashRing ring = snapshot.getHashRing();
+        for (int i = 0; i < 2000; i++) {
+            RpcRequest request = request("192.168." + (i / 256) + "." + (i % 256));
+            assertEquals(policy.getAddress(remain, request, Collections.<String>emptySet()),
+                    policy.getAddress(snapshot, request, excludeAddresses));
+        }
+        // 选择结构沿用原快照，不重新生成
+        assertSame(ring, snapshot.getHashRing());
+    }
+
+    private static RpcRequest request(String ip) {
+        RpcRequest request = new RpcRequest();
+        request.setRequestIp(ip);
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kitchen.rpc.registry.policy;
+
+import com.kitchen.rpc.registry.policy.impl.ServiceAddressByLeastPending;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * 最少进行中请求负载均衡的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class LeastPendingTest {
+    private final BaseServiceAddressPolicy policy = new ServiceAddressByLeastPending();
+    private final ServiceAddressSnapshot snapshot = ServiceAddressSnapshotTest.snapshot(1, 1, 1, 1);
+
+    @After
+    public void resetLoad() {
+        for (int i = 0; i < snapshot.size(); i++) {
+            while (AddressLoadTracker.getLoad(snapshot.getAddress(i)) > 0) {
+                AddressLoadTracker.decrement(snapshot.getAddress(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLeastLoad() {
+        setLoad(0, 3);
+        setLoad(1, 1);
+        setLoad(2, 2);
+        setLoad(3, 5);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(snapshot.getAddress(1), select());
+        }
+    }
+
+    @Test
+    public void testTieBreaking() {
+        // 请求数相同的地址中等概率选择，而不是总选第一个
+        setLoad(0, 2);
+        setLoad(3, 2);
+        int[] counts = new int[snapshot.size()];
+        for (int i = 0; i < 30000; i++) {
+            counts[snapshot.indexOf(select())]++;
+        }
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[3]);
+        assertEquals(15000, counts[1], 750);
+        assertEquals(15000, counts[2], 750);
+    }
+
+    @Test
+    public void testFollowsLoad() {
+        // 按选择结果记录进行中的请求，各地址的请求数保持均衡
+        for (int i = 0; i < 40; i++) {
+            AddressLoadTracker.increment(select());
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(10, AddressLoadTracker.getLoad(snapshot.getAddress(i)));
+        }
+    }
+
+    private String select() {
+        return policy.getAddress(snapshot, null, Collections.<String>emptySet());
+    }
+
+    private void setLoad(int index, int load) {
+        for (int i = 0; i < load; i++) {
+            AddressLoadTracker.increment(snapshot.getAddress(index));
+        }
+    }
+}
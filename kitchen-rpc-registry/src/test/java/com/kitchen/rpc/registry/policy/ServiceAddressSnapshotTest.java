@@ -0,0 +1,78 @@
+package com.kitchen.rpc.registry.policy;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * 服务地址快照（权重处理）的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ServiceAddressSnapshotTest {
+
+    @Test
+    public void testZeroWeightExcluded() {
+        ServiceAddressSnapshot snapshot = snapshot(5, 1, 1, 0, 3);
+        assertEquals(0, snapshot.getWeight(3));
+        assertEquals(10, snapshot.getTotalWeight());
+
+        WeightedAliasTable aliasTable = snapshot.getAliasTable();
+        for (int i = 0; i < 100000; i++) {
+            assertNotEquals(3, aliasTable.select());
+        }
+        SmoothWeightedSequence sequence = snapshot.getSmoothSequence();
+        for (int i = 0; i < 10; i++) {
+            assertNotEquals(3, sequence.select(i));
+        }
+        ConsistentHashRing ring = snapshot.getHashRing();
+        for (int i = 0; i < ring.size(); i++) {
+            assertNotEquals(3, ring.addressAt(i));
+        }
+    }
+
+    @Test
+    public void testAllZeroWeights() {
+        // 全部权重为0时各地址按相同的权重选择
+        ServiceAddressSnapshot snapshot = snapshot(0, 0, 0);
+        int[] counts = new int[3];
+        SmoothWeightedSequence sequence = snapshot.getSmoothSequence();
+        for (int i = 0; i < 3; i++) {
+            counts[sequence.select(i)]++;
+        }
+        assertArrayEquals(new int[]{1, 1, 1}, counts);
+
+        counts = new int[3];
+        WeightedAliasTable aliasTable = snapshot.getAliasTable();
+        for (int i = 0; i < 30000; i++) {
+            counts[aliasTable.select()]++;
+        }
+        for (int count : counts) {
+            assertEquals(10000, count, 600);
+        }
+
+        ConsistentHashRing ring = snapshot.getHashRing();
+        assertEquals(3 * 160, ring.size());
+    }
+
+    @Test
+    public void testNegativeAndMissingWeights() {
+        LinkedHashMap<String, Integer> addressMap = new LinkedHashMap<>();
+        addressMap.put("10.0.0.1:8000", -2);
+        addressMap.put("10.0.0.2:8000", null);
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(addressMap);
+        assertEquals(0, snapshot.getWeight(0));
+        assertEquals(1, snapshot.getWeight(1));
+    }
+
+    static ServiceAddressSnapshot snapshot(int... weights) {
+        LinkedHashMap<String, Integer> addressMap = new LinkedHashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            addressMap.put("10.0.0." + (i + 1) + ":8000", weights[i]);
+        }
+        return ServiceAddressSnapshot.of(addressMap);
+    }
+}
@@ -2,6 +2,7 @@ package com.kitchen.rpc.registry.policy;
 
 import com.kitchen.rpc.registry.policy.impl.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -32,6 +33,12 @@ public class TestLoadBalance {
             case IpAddressHash:
                 policy = new ServiceAddressByHash();
                 break;
+            case ConsistentHash:
+                policy = new ServiceAddressByConsistentHash();
+                break;
+            case LeastPending:
+                policy = new ServiceAddressByLeastPending();
+                break;
             default:
                 policy = new ServiceAddressByRandom();
                 break;
@@ -44,9 +51,10 @@ public class TestLoadBalance {
         addressMap.put("333.111.111.111", 3);
         addressMap.put("222.111.111.111", 2);
 
+        ServiceAddressSnapshot snapshot = ServiceAddressSnapshot.of(addressMap);
         Map<String, Integer> result = new HashMap<>();
         for (int i = 0; i < 15000; i++) {
-            String address = policy.getAddress(addressMap, null);
+            String address = policy.getAddress(snapshot, null, Collections.<String>emptySet());
             if (result.containsKey(address)) {
                 int count = result.get(address) + 1;
                 result.put(address, count);
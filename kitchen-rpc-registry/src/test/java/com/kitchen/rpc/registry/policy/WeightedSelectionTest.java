@@ -0,0 +1,88 @@
+package com.kitchen.rpc.registry.policy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 加权选择结构（别名表、平滑加权轮询序列）的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class WeightedSelectionTest {
+
+    @Test
+    public void testAliasTableDistribution() {
+        int[] weights = {5, 1, 1, 3};
+        WeightedAliasTable table = new WeightedAliasTable(weights, 10);
+        int samples = 200000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[table.select()]++;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double expected = (double) samples * weights[i] / 10;
+            assertEquals("index " + i, expected, counts[i], expected * 0.05);
+        }
+    }
+
+    @Test
+    public void testAliasTableSingleAndEqual() {
+        WeightedAliasTable single = new WeightedAliasTable(new int[]{7}, 7);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, single.select());
+        }
+        int[] counts = new int[4];
+        WeightedAliasTable equal = new WeightedAliasTable(new int[]{2, 2, 2, 2}, 8);
+        for (int i = 0; i < 40000; i++) {
+            counts[equal.select()]++;
+        }
+        for (int count : counts) {
+            assertEquals(10000, count, 500);
+        }
+    }
+
+    @Test
+    public void testSmoothSequenceInterleaving() {
+        // 与Nginx的平滑加权轮询一致：a a b a c a a
+        SmoothWeightedSequence sequence = new SmoothWeightedSequence(new int[]{5, 1, 1});
+        assertEquals(7, sequence.size());
+        int[] expected = {0, 0, 1, 0, 2, 0, 0};
+        for (int i = 0; i < 14; i++) {
+            assertEquals(expected[i % 7], sequence.select(i));
+        }
+    }
+
+    @Test
+    public void testSmoothSequenceDistribution() {
+        // 约分后周期为 2+1+3=6，每个周期内的次数与权重严格成比例
+        SmoothWeightedSequence sequence = new SmoothWeightedSequence(new int[]{20, 10, 30});
+        assertEquals(6, sequence.size());
+        int[] counts = new int[3];
+        for (int i = 0; i < sequence.size(); i++) {
+            counts[sequence.select(i)]++;
+        }
+        assertArrayEquals(new int[]{2, 1, 3}, counts);
+        // 权重占一半的地址在周期内（含跨周期）不会连续被选择超过2次
+        int run = 0;
+        for (int i = 0; i < sequence.size() * 2; i++) {
+            run = sequence.select(i) == 2 ? run + 1 : 0;
+            assertTrue(run <= 2);
+        }
+    }
+
+    @Test
+    public void testSmoothSequenceScaled() {
+        // 约分后的总权重超过上限时按比例缩小，低权重地址仍至少出现一次
+        SmoothWeightedSequence sequence = new SmoothWeightedSequence(new int[]{1000003, 1});
+        assertTrue(sequence.size() <= 1 << 16);
+        int low = 0;
+        for (int i = 0; i < sequence.size(); i++) {
+            if (sequence.select(i) == 1) {
+                low++;
+            }
+        }
+        assertEquals(1, low);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kitchen.rpc.server;
 
+import com.kitchen.rpc.common.codec.protostuff.ProtocolSchemaWarmup;
 import com.kitchen.rpc.common.util.RpcStringUtil;
 import com.kitchen.rpc.registry.store.RpcServiceRegistry;
 import com.kitchen.rpc.registry.cache.RegistryCache;
@@ -7,6 +8,7 @@ import com.kitchen.rpc.registry.store.zookeeper.registry.ZooKeeperServiceRegistr
 import com.kitchen.rpc.server.config.RpcServerConfig;
 import com.kitchen.rpc.common.exception.RpcServiceException;
 import com.kitchen.rpc.server.handler.ProtocolChannelInitializerHandler;
+import com.kitchen.rpc.server.invoker.InvokerCache;
 import com.kitchen.rpc.server.thread.BusinessThread;
 import com.kitchen.rpc.server.util.RpcServerUtil;
 import io.netty.bootstrap.ServerBootstrap;
@@ -93,6 +95,8 @@ public class RpcServer implements ApplicationContextAware, InitializingBean, Dis
 
         // 扫描带有 RpcService 注解的类并初始化 RegistryCache 对象
         int count = 0;
+        int schemaCount = 0;
+        long warmupTime = 0;
         Map<String, Object> serviceBeanMap = applicationContext.getBeansWithAnnotation(RpcService.class);
         if (MapUtils.isNotEmpty(serviceBeanMap)) {
             for (Object serviceBean : serviceBeanMap.values()) {
@@ -116,6 +120,12 @@ public class RpcServer implements ApplicationContextAware, InitializingBean, Dis
                 }
 
                 RegistryCache.put(serviceName, serviceBean);
+                // 预先生成服务方法的调用器
+                InvokerCache.register(serviceName, interfaces[0], serviceBean);
+                // 预先生成请求参数及返回值的序列化结构（在注册到注册中心之前完成）
+                long warmupStart = System.currentTimeMillis();
+                schemaCount += ProtocolSchemaWarmup.warmUp(interfaces[0]);
+                warmupTime += System.currentTimeMillis() - warmupStart;
                 count++;
             }
         }
@@ -129,6 +139,7 @@ public class RpcServer implements ApplicationContextAware, InitializingBean, Dis
             log += "\n" + key;
         }
         logger.info(log);
+        logger.info("<RpcServer>: 完成序列化结构预热，共生成" + schemaCount + "个序列化结构，耗时" + warmupTime + "ms");
     }
 
     private InetSocketAddress getHostSocketAddress() {
@@ -172,7 +183,7 @@ public class RpcServer implements ApplicationContextAware, InitializingBean, Dis
         bootstrap.group(bossGroup, workerGroup);
 
         bootstrap.channel(NioServerSocketChannel.class);
-        bootstrap.childHandler(new ProtocolChannelInitializerHandler());
+        bootstrap.childHandler(new ProtocolChannelInitializerHandler(config.frameFormat));
         bootstrap.option(ChannelOption.SO_BACKLOG, RpcServerConfig.CHANNEL_BACKLOG);
         bootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);//保持长连接状态
 
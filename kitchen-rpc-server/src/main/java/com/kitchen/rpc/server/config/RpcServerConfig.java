@@ -1,5 +1,6 @@
 package com.kitchen.rpc.server.config;
 
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
@@ -30,6 +31,11 @@ public class RpcServerConfig {
     public Integer serverWeight;
     @Value("${kitchen.rpc.server.registry}")
     public String registry;
+    /**
+     * 通信帧格式（升级过渡期间可指定为VARINT_LENGTH，兼容旧版本的服务消费者）
+     */
+    @Value("${kitchen.rpc.server.frame-format:FIXED_HEADER}")
+    public FrameFormat frameFormat;
 
     /**
      * 默认的RPC服务端口号
@@ -1,5 +1,8 @@
 package com.kitchen.rpc.server.handler;
 
+import com.kitchen.rpc.common.codec.frame.FrameFormat;
+import com.kitchen.rpc.common.codec.frame.ProtocolFrameCodec;
+import com.kitchen.rpc.common.codec.protostuff.LegacyRequestTable;
 import com.kitchen.rpc.common.codec.protostuff.ProtocolDecoder;
 import com.kitchen.rpc.common.codec.protostuff.ProtocolEncoder;
 import com.kitchen.rpc.common.meta.RpcRequest;
@@ -14,14 +17,31 @@ import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
  * @date 2017-06-24
  */
 public class ProtocolChannelInitializerHandler extends ChannelInitializer<SocketChannel> {
+    private FrameFormat frameFormat;
+
+    public ProtocolChannelInitializerHandler(FrameFormat frameFormat) {
+        this.frameFormat = frameFormat;
+    }
+
     @Override
     public void initChannel(SocketChannel channel) throws Exception {
-        // 解码 RPC 请求
-        channel.pipeline().addLast(new ProtobufVarint32FrameDecoder());
-        channel.pipeline().addLast(new ProtocolDecoder(RpcRequest.class));
-        // 编码 RPC 响应
-        channel.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
-        channel.pipeline().addLast(new ProtocolEncoder(RpcResponse.class));
+        if (frameFormat == FrameFormat.VARINT_LENGTH) {
+            // 旧版本客户端的请求ID在解码时登记，编码响应时还原
+            LegacyRequestTable requestTable = new LegacyRequestTable();
+            // 解码 RPC 请求
+            channel.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+            channel.pipeline().addLast(new ProtocolDecoder(RpcRequest.class, requestTable));
+            // 编码 RPC 响应
+            channel.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+            channel.pipeline().addLast(new ProtocolEncoder(RpcResponse.class, requestTable));
+        } else {
+            // 解码 RPC 请求、编码 RPC 响应
+            channel.pipeline().addLast(new ProtocolFrameCodec());
+            // 处理握手（回复方法编号表）
+            channel.pipeline().addLast(new ServerHandshakeHandler());
+            // 处理批量请求
+            channel.pipeline().addLast(new ServerBatchRequestHandler());
+        }
         // 处理 RPC 请求
         channel.pipeline().addLast(new ServerChannelInboundHandler());
     }
@@ -0,0 +1,88 @@
+package com.kitchen.rpc.server.handler;
+
+import com.kitchen.rpc.common.meta.RpcBatchRequest;
+import com.kitchen.rpc.common.meta.RpcBatchResponse;
+import com.kitchen.rpc.common.meta.RpcRequest;
+import com.kitchen.rpc.common.meta.RpcResponse;
+import com.kitchen.rpc.server.config.ThreadPolicyConfig;
+import com.kitchen.rpc.server.thread.BusinessThread;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * RPC 服务端的批量请求处理器
+ * 开启业务线程池（IS_SUBMIT_BUSINESS_THREAD）时，批量请求中的各请求并行提交到业务线程池处理；
+ * 未开启时与单个请求一致，在IO线程中依次处理。全部完成后按原顺序写回一个批量响应
+ * 仅FIXED_HEADER帧格式支持
+ *
+ * @date 2026-10-18
+ * @author 赵梓彧 - kitchen_dev@163.com
+ */
+public class ServerBatchRequestHandler extends SimpleChannelInboundHandler<RpcBatchRequest> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerBatchRequestHandler.class);
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, RpcBatchRequest batchRequest) throws Exception {
+        List<RpcRequest> requests = batchRequest.getRequests();
+        int size = requests != null ? requests.size() : 0;
+        RpcResponse[] responses = new RpcResponse[size];
+        if (size == 0) {
+            writeResponse(channelHandlerContext, batchRequest, responses);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(size);
+        for (int i = 0; i < size; i++) {
+            RpcRequest request = requests.get(i);
+            int index = i;
+            Consumer<RpcResponse> responseConsumer = new Consumer<RpcResponse>() {
+                @Override
+                public void accept(RpcResponse response) {
+                    responses[index] = response;
+                    // 最后完成的请求负责写回批量响应
+                    if (remaining.decrementAndGet() == 0) {
+                        writeResponse(channelHandlerContext, batchRequest, responses);
+                    }
+                }
+            };
+            if (ThreadPolicyConfig.IS_SUBMIT_BUSINESS_THREAD) {
+                BusinessThread.executeBusinessTask(new Runnable() {
+                    @Override
+                    public void run() {
+                        ServerChannelInboundHandler.invoke(request, responseConsumer);
+                    }
+                });
+            } else {
+                ServerChannelInboundHandler.invoke(request, responseConsumer);
+            }
+        }
+    }
+
+    private void writeResponse(ChannelHandlerContext channelHandlerContext, RpcBatchRequest batchRequest, RpcResponse[] responses) {
+        RpcBatchResponse batchResponse = new RpcBatchResponse();
+        batchResponse.setRequestId(batchRequest.getRequestId());
+        batchResponse.setRequestIds(batchRequest.getRequestIds());
+        batchResponse.setResponses(Arrays.asList(responses));
+        // 任一服务方法配置了压缩时，整个批量响应按其策略压缩
+        for (RpcResponse response : responses) {
+            if (response.getCompression() != null) {
+                batchResponse.setCompression(response.getCompression());
+                break;
+            }
+        }
+        channelHandlerContext.writeAndFlush(batchResponse);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        LOGGER.error("处理RPC批量请求时捕获异常", cause);
+        ctx.close();
+    }
+}
@@ -2,20 +2,24 @@ package com.kitchen.rpc.server.handler;
 
 import com.kitchen.rpc.common.RequestMode;
 import com.kitchen.rpc.common.meta.RpcRequest;
-import com.kitchen.rpc.common.meta.RpcRequestParam;
 import com.kitchen.rpc.common.meta.RpcResponse;
 import com.kitchen.rpc.common.util.RpcStringUtil;
 import com.kitchen.rpc.registry.cache.RegistryCache;
 import com.kitchen.rpc.server.config.ThreadPolicyConfig;
+import com.kitchen.rpc.server.invoker.InvokerCache;
+import com.kitchen.rpc.server.invoker.MethodInvoker;
 import com.kitchen.rpc.server.thread.BusinessThread;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cglib.reflect.FastClass;
-import org.springframework.cglib.reflect.FastMethod;
 
-import java.util.HashMap;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * RPC 服务端的请求处理器（接收并处理RPC客户端发送的请求）
@@ -60,23 +64,17 @@ public class ServerChannelInboundHandler extends SimpleChannelInboundHandler<Rpc
     }
 
     private void handleRequest(ChannelHandlerContext channelHandlerContext, RpcRequest rpcRequest) {
-        if (rpcRequest.getRequestMode() == RequestMode.SYNC || rpcRequest.getRequestMode() == RequestMode.ASYNC_CALLBACK) {
-            // 创建并初始化 RPC 响应对象
-            RpcResponse response = new RpcResponse();
-            response.setRequestId(rpcRequest.getRequestId());
-            response.setRequestMode(rpcRequest.getRequestMode());
-            try {
-                Object result = handleRequest0(rpcRequest);
-                response.setResult(result);
-            } catch (Exception e) {
-                LOGGER.error("服务内抛出异常", e.getCause());
-                response.setException(e);
-            }
-            // 写入 RPC 响应对象
-            channelHandlerContext.writeAndFlush(response);
-        } else if (rpcRequest.getRequestMode() == RequestMode.ASYNC) {
+        if (rpcRequest.getRequestMode() != RequestMode.ASYNC) {
+            invoke(rpcRequest, new Consumer<RpcResponse>() {
+                @Override
+                public void accept(RpcResponse response) {
+                    // 写入 RPC 响应对象
+                    channelHandlerContext.writeAndFlush(response);
+                }
+            });
+        } else {
             try {
-                handleRequest0(rpcRequest);
+                getInvoker(rpcRequest).invoke(rpcRequest.getArguments());
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -85,41 +83,83 @@ public class ServerChannelInboundHandler extends SimpleChannelInboundHandler<Rpc
     }
 
     /**
-     * 处理请求
-     *
-     * @param request
-     * @return
-     * @throws Exception
+     * 执行请求并生成响应，响应就绪后交给responseConsumer
+     * 服务方法返回CompletableFuture时，在其完成后再生成响应，不占用当前线程
+     */
+    static void invoke(RpcRequest rpcRequest, Consumer<RpcResponse> responseConsumer) {
+        // 创建并初始化 RPC 响应对象
+        RpcResponse response = new RpcResponse();
+        response.setRequestId(rpcRequest.getRequestId());
+        try {
+            MethodInvoker invoker = getInvoker(rpcRequest);
+            // 按服务方法的压缩策略压缩响应
+            response.setCompression(invoker.getCompression());
+            // 通过预先生成的调用器执行调用（请求参数已按位置排列）
+            Object result = invoker.invoke(rpcRequest.getArguments());
+            if (result instanceof CompletionStage) {
+                completeResponse(response, (CompletionStage<?>) result, responseConsumer);
+                return;
+            }
+            response.setResult(result);
+        } catch (InvocationTargetException e) {
+            LOGGER.error("服务内抛出异常", e.getCause());
+            response.setException(e);
+        } catch (Exception e) {
+            // 请求的服务、方法或参数有误，未调用服务方法
+            LOGGER.error("无法执行RPC请求", e);
+            response.setException(e);
+        }
+        responseConsumer.accept(response);
+    }
+
+    private static void completeResponse(RpcResponse response, CompletionStage<?> stage, Consumer<RpcResponse> responseConsumer) {
+        stage.whenComplete(new BiConsumer<Object, Throwable>() {
+            @Override
+            public void accept(Object result, Throwable e) {
+                if (e != null) {
+                    // 与同步调用保持一致，服务内抛出的异常包装为InvocationTargetException
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    LOGGER.error("服务内抛出异常", cause);
+                    response.setException(new InvocationTargetException(cause));
+                } else {
+                    response.setResult(result);
+                }
+                responseConsumer.accept(response);
+            }
+        });
+    }
+
+    /**
+     * 获取请求的服务方法调用器
+     * 若未提供所请求的服务或方法，则抛出运行时异常
      */
-    private Object handleRequest0(RpcRequest request) throws Exception {
-        // 获取服务对象
+    private static MethodInvoker getInvoker(RpcRequest request) {
+        // 已协商方法编号的请求，直接按编号获取调用器
+        int methodId = request.getMethodId();
+        if (methodId != 0) {
+            MethodInvoker invoker = InvokerCache.get(methodId);
+            if (invoker == null) {
+                throw new RuntimeException(String.format("服务提供者(%s)：未提供编号为[%d]的方法", RegistryCache.address(), methodId));
+            }
+            return invoker;
+        }
+
+        // 获取服务的方法调用器
         String serviceName = request.getInterfaceName();
         String serviceVersion = request.getServiceVersion();
         if (RpcStringUtil.isNotEmpty(serviceVersion)) {
             serviceName += "-" + serviceVersion;
         }
-        Object serviceBean = RegistryCache.get(serviceName);
-        if (serviceBean == null) {
+        Map<String, MethodInvoker> methodMap = InvokerCache.get(serviceName);
+        if (methodMap == null) {
             throw new RuntimeException(String.format("服务提供者(%s)：未提供[%s]服务", RegistryCache.address(), serviceName));
         }
-        // 获取反射调用所需的参数
-        Class<?> serviceClass = serviceBean.getClass();
-        String methodName = request.getMethodName();
-
-        // 解析请求方法的参数
-        HashMap<Integer, RpcRequestParam> paramHashMap = request.getParameters();
-        Class<?>[] parameterTypes = new Class<?>[paramHashMap.size()];
-        Object[] parameters = new Object[paramHashMap.size()];
-        for (int i = 0; i < paramHashMap.size(); i++) {
-            RpcRequestParam rpcRequestParam = paramHashMap.get(i);
-            parameterTypes[i] = rpcRequestParam.getParamType();
-            parameters[i] = rpcRequestParam.getParamValue();
+        String methodSignature = request.getMethodSignature();
+        MethodInvoker invoker = methodMap.get(methodSignature);
+        if (invoker == null) {
+            throw new RuntimeException(String.format("服务提供者(%s)：[%s]服务未提供[%s]方法", RegistryCache.address(), serviceName, methodSignature));
         }
-
-        // 使用 CGLib 执行反射调用
-        FastClass serviceFastClass = FastClass.create(serviceClass);
-        FastMethod serviceFastMethod = serviceFastClass.getMethod(methodName, parameterTypes);
-        return serviceFastMethod.invoke(serviceBean, parameters);
+        return invoker;
     }
 
     @Override
@@ -0,0 +1,42 @@
+package com.kitchen.rpc.server.handler;
+
+import com.kitchen.rpc.common.codec.serializer.RpcSerializer;
+import com.kitchen.rpc.common.codec.serializer.SerializerCache;
+import com.kitchen.rpc.common.meta.RpcHandshake;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import com.kitchen.rpc.server.invoker.InvokerCache;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+
+/**
+ * RPC 服务端的握手处理器
+ * 回复方法编号表，并按客户端的优先级选定本端已注册的序列化器
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class ServerHandshakeHandler extends SimpleChannelInboundHandler<RpcHandshake> {
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, RpcHandshake handshake) throws Exception {
+        RpcSerializer serializer = selectSerializer(handshake.getSerializerIds());
+
+        RpcMethodTable methodTable = InvokerCache.getMethodTable();
+        methodTable.setSerializerId(serializer.getId());
+        // 方法编号表仍使用默认序列化器发送，之后的响应使用选定的序列化器
+        channelHandlerContext.writeAndFlush(methodTable);
+        SerializerCache.set(channelHandlerContext.channel(), serializer);
+    }
+
+    private RpcSerializer selectSerializer(byte[] serializerIds) {
+        if (serializerIds != null) {
+            for (byte serializerId : serializerIds) {
+                RpcSerializer serializer = SerializerCache.get(serializerId);
+                if (serializer != null) {
+                    return serializer;
+                }
+            }
+        }
+        return SerializerCache.getDefault();
+    }
+}
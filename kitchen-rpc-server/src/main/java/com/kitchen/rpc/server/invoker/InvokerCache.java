@@ -0,0 +1,82 @@
+package com.kitchen.rpc.server.invoker;
+
+import com.kitchen.rpc.common.exception.RpcServiceException;
+import com.kitchen.rpc.common.meta.RpcMethodTable;
+import com.kitchen.rpc.common.util.RpcMethodUtil;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RPC服务方法调用器缓存（分发表）
+ * 在扫描RPC服务时构建：服务名（接口名-版本号） -> 方法签名 -> 调用器
+ * 方法签名已区分重载方法，处理请求时只需一次查找；构建完成后只读，无需加锁
+ * 同时为每个方法分配编号（从1开始），连接握手时以方法编号表的形式发送给客户端，之后的请求按编号直接定位调用器
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class InvokerCache {
+    private static Map<String, Map<String, MethodInvoker>> invokerMap = new HashMap<>();
+
+    /**
+     * 按方法编号排列的调用器（下标 = 方法编号 - 1）及对应的方法键
+     */
+    private static List<MethodInvoker> invokerList = new ArrayList<>();
+    private static List<String> methodKeyList = new ArrayList<>();
+
+    /**
+     * 为服务接口的全部方法生成调用器
+     *
+     * @param serviceName 服务名（接口名-版本号）
+     * @param interfaceClass 服务接口
+     * @param serviceBean 服务实现对象
+     */
+    public static void register(String serviceName, Class<?> interfaceClass, Object serviceBean) {
+        Map<String, MethodInvoker> methodMap = new HashMap<>();
+        for (Method method : interfaceClass.getMethods()) {
+            String signature = RpcMethodUtil.getSignature(method);
+            MethodInvoker invoker;
+            try {
+                invoker = new MethodInvoker(serviceBean, method);
+            } catch (IllegalAccessException e) {
+                throw new RpcServiceException("RPC服务方法无法访问:" + serviceName + "." + method.getName());
+            }
+            methodMap.put(signature, invoker);
+            invokerList.add(invoker);
+            methodKeyList.add(RpcMethodUtil.getMethodKey(serviceName, signature));
+        }
+        invokerMap.put(serviceName, methodMap);
+    }
+
+    /**
+     * 获取服务的全部方法调用器（方法签名 -> 调用器）
+     * 若未提供该服务，则返回null
+     */
+    public static Map<String, MethodInvoker> get(String serviceName) {
+        return invokerMap.get(serviceName);
+    }
+
+    /**
+     * 根据方法编号获取调用器
+     * 若编号无效，则返回null
+     */
+    public static MethodInvoker get(int methodId) {
+        if (methodId <= 0 || methodId > invokerList.size()) {
+            return null;
+        }
+        return invokerList.get(methodId - 1);
+    }
+
+    /**
+     * 获取方法编号表（握手时发送给客户端）
+     */
+    public static RpcMethodTable getMethodTable() {
+        RpcMethodTable methodTable = new RpcMethodTable();
+        methodTable.setMethodKeys(methodKeyList);
+        return methodTable;
+    }
+}
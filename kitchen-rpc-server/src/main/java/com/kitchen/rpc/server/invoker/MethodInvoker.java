@@ -0,0 +1,95 @@
+package com.kitchen.rpc.server.invoker;
+
+import com.kitchen.rpc.common.codec.compress.CompressionPolicy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * RPC服务方法的调用器
+ * 在服务扫描阶段预先生成（MethodHandle已绑定服务对象并展开参数数组），处理请求时不再进行任何反射查找
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public final class MethodInvoker {
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    // 参数的装箱类型（基本类型的参数以包装类型传递），用于调用前检查参数
+    private final Class<?>[] boxedParameterTypes;
+    // 响应的压缩策略（由服务接口上的RpcCompression注解生成）
+    private final CompressionPolicy compression;
+    // 调用签名统一为：(Object[])Object
+    private final MethodHandle handle;
+
+    MethodInvoker(Object serviceBean, Method method) throws IllegalAccessException {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.boxedParameterTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            boxedParameterTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+        this.compression = CompressionPolicy.of(method);
+
+        // 非public的服务接口需要关闭访问检查
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        this.handle = MethodHandles.lookup()
+                .unreflect(method)
+                .bindTo(serviceBean)
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(INVOKE_TYPE);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public CompressionPolicy getCompression() {
+        return compression;
+    }
+
+    /**
+     * 调用服务方法
+     * 与CGLib的FastMethod保持一致，服务内抛出的异常包装为InvocationTargetException；
+     * 请求参数与方法签名不匹配时抛出IllegalArgumentException，不调用服务方法
+     *
+     * @param args 请求参数（void方法返回null，基本类型的返回值自动装箱）
+     */
+    public Object invoke(Object[] args) throws InvocationTargetException {
+        checkArguments(args);
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * 检查请求参数的个数及类型（基本类型的参数不能为null），MethodHandle转换参数时不会再失败
+     */
+    private void checkArguments(Object[] args) {
+        int count = args != null ? args.length : 0;
+        if (count != parameterTypes.length) {
+            throw new IllegalArgumentException(String.format("[%s]的参数个数不匹配：需要%d个，请求中为%d个",
+                    method, parameterTypes.length, count));
+        }
+        for (int i = 0; i < count; i++) {
+            Object arg = args[i];
+            if (arg == null ? parameterTypes[i].isPrimitive() : !boxedParameterTypes[i].isInstance(arg)) {
+                throw new IllegalArgumentException(String.format("[%s]的第%d个参数类型不匹配：需要%s，请求中为%s",
+                        method, i + 1, parameterTypes[i].getName(), arg == null ? "null" : arg.getClass().getName()));
+            }
+        }
+    }
+}
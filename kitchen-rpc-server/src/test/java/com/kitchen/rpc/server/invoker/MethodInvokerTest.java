@@ -0,0 +1,68 @@
+package com.kitchen.rpc.server.invoker;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.*;
+
+/**
+ * 服务方法调用器的测试
+ *
+ * @author 赵梓彧 - kitchen_dev@163.com
+ * @date 2026-10-18
+ */
+public class MethodInvokerTest {
+
+    @Test
+    public void testInvoke() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(new DemoServiceImpl(), DemoService.class.getMethod("hello", int.class, String.class));
+        assertEquals("kitchen-2", invoker.invoke(new Object[]{2, "kitchen"}));
+        assertEquals("null-1", invoker.invoke(new Object[]{1, null}));
+    }
+
+    @Test
+    public void testServiceException() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(new DemoServiceImpl(), DemoService.class.getMethod("hello", int.class, String.class));
+        try {
+            invoker.invoke(new Object[]{-1, "kitchen"});
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testArgumentMismatch() throws Exception {
+        MethodInvoker invoker = new MethodInvoker(new DemoServiceImpl(), DemoService.class.getMethod("hello", int.class, String.class));
+        Object[][] invalidArguments = {
+                {"2", "kitchen"},
+                {null, "kitchen"},
+                {2},
+                {2, 3},
+                null
+        };
+        for (Object[] args : invalidArguments) {
+            try {
+                invoker.invoke(args);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // 参数有误，不作为服务内的异常
+            }
+        }
+    }
+
+    public interface DemoService {
+        String hello(int times, String name);
+    }
+
+    public static class DemoServiceImpl implements DemoService {
+        @Override
+        public String hello(int times, String name) {
+            if (times < 0) {
+                throw new IllegalStateException();
+            }
+            return name + "-" + times;
+        }
+    }
+}